@@ -0,0 +1,90 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.kubernetes.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.gravitee.kubernetes.mapper.CustomResource;
+import io.gravitee.kubernetes.mapper.CustomResourceDefinitionMapper;
+import io.gravitee.kubernetes.mapper.GroupVersionKind;
+import io.gravitee.kubernetes.mapper.ObjectMeta;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the mapping of an API definition to a custom resource, and the sanitization of resource names done when
+ * building its metadata.
+ *
+ * @author GraviteeSource Team
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CustomResourceDefinitionBenchmark {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Param({ "Echo API", "my_api v2.0 (Production)" })
+    private String name;
+
+    private final CustomResourceDefinitionMapper mapper = new CustomResourceDefinitionMapper();
+    private JsonNode apiDefinition;
+    private ApiResource resource;
+
+    @Setup
+    public void setup() throws IOException {
+        apiDefinition = MAPPER.readTree(Fixtures.load("api-definition.json"));
+    }
+
+    @Setup(Level.Invocation)
+    public void newResource() {
+        // The mapper removes null values from the spec in place, each invocation needs a pristine copy.
+        resource = new ApiResource(new ObjectMeta("api-definition"), apiDefinition.deepCopy());
+    }
+
+    @Benchmark
+    public String toCustomResourceDefinition() throws IOException {
+        return mapper.toCustomResourceDefinition(resource);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public ObjectMeta sanitizeName() {
+        return new ObjectMeta(name);
+    }
+
+    private static class ApiResource extends CustomResource<JsonNode> {
+
+        ApiResource(ObjectMeta metadata, JsonNode spec) {
+            super(GroupVersionKind.GIO_V1_ALPHA_1_API_DEFINITION, metadata, spec);
+        }
+    }
+}
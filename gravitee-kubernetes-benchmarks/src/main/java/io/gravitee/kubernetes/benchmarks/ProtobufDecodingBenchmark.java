@@ -0,0 +1,102 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.kubernetes.benchmarks;
+
+import io.gravitee.kubernetes.client.api.Type;
+import io.gravitee.kubernetes.client.impl.ProtobufDecoder;
+import io.gravitee.kubernetes.client.impl.WatchEventDecoder;
+import io.gravitee.kubernetes.client.model.v1.Event;
+import io.gravitee.kubernetes.client.model.v1.Watchable;
+import io.vertx.core.buffer.Buffer;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the decoding of the same watch event received as JSON and as protobuf
+ * (<code>application/vnd.kubernetes.protobuf</code>), both frames being loaded from the fixtures of the type.
+ * Besides the decode time, each benchmark reports the frames it decoded (<code>frames</code>) and their size on the wire
+ * (<code>wireBytes</code>): <code>wireBytes / frames</code> is the size of the event in the format.
+ *
+ * @author GraviteeSource Team
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProtobufDecodingBenchmark {
+
+    @Param({ "SECRETS", "ENDPOINTSLICES" })
+    private Type type;
+
+    private Buffer jsonFrame;
+    private byte[] protobufFrame;
+    private Class<? extends Event<Watchable>> eventType;
+    private WatchEventDecoder<Event<Watchable>> decoder;
+
+    @Setup
+    public void setup() {
+        String fixture = type == Type.SECRETS ? "secret-event" : "endpointslice-event";
+        jsonFrame = Buffer.buffer(Fixtures.load(fixture + ".json"));
+        protobufFrame = Fixtures.load(fixture + ".pb");
+        eventType = type.eventType();
+        decoder = WatchEventDecoder.of(type);
+    }
+
+    @Benchmark
+    public Event<Watchable> json(WireCounters counters) {
+        counters.decoded(jsonFrame.length());
+        return decoder.decode(jsonFrame);
+    }
+
+    @Benchmark
+    public Event<Watchable> protobuf(WireCounters counters) {
+        counters.decoded(protobufFrame.length);
+        return ProtobufDecoder.decodeEvent(protobufFrame, eventType, type.type());
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class WireCounters {
+
+        public long frames;
+        public long wireBytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            frames = 0;
+            wireBytes = 0;
+        }
+
+        void decoded(int frameBytes) {
+            frames++;
+            wireBytes += frameBytes;
+        }
+    }
+}
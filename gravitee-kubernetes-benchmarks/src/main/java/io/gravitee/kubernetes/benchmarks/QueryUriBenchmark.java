@@ -0,0 +1,85 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.kubernetes.benchmarks;
+
+import io.gravitee.kubernetes.client.api.FieldSelector;
+import io.gravitee.kubernetes.client.api.LabelSelector;
+import io.gravitee.kubernetes.client.api.ResourceQuery;
+import io.gravitee.kubernetes.client.api.WatchQuery;
+import io.gravitee.kubernetes.client.model.v1.ConfigMapList;
+import io.gravitee.kubernetes.client.model.v1.Event;
+import io.gravitee.kubernetes.client.model.v1.Secret;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link io.gravitee.kubernetes.client.api.AbstractQuery#toUri()}, called for every get and watch, and the
+ * structural key used to share watches.
+ *
+ * @author GraviteeSource Team
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QueryUriBenchmark {
+
+    private final ResourceQuery<Secret> secret = ResourceQuery.<Secret>from("/gravitee/secrets/gateway-tls/tls.crt").build();
+
+    private final ResourceQuery<ConfigMapList> configMaps = ResourceQuery.configMaps("gravitee")
+        .labelSelector(LabelSelector.equals("app.kubernetes.io/name", "gravitee-gateway"))
+        .labelSelector(LabelSelector.notEquals("app.kubernetes.io/component", "ui"))
+        .build();
+
+    private final WatchQuery<Event<Secret>> watch = WatchQuery.secrets("gravitee")
+        .resource("gateway-tls")
+        .fieldSelector(FieldSelector.notEquals("type", "kubernetes.io/service-account-token"))
+        .labelSelector(LabelSelector.equals("app.kubernetes.io/managed-by", "Helm"))
+        .resourceVersion("184467")
+        .allowWatchBookmarks(true)
+        .build();
+
+    @Benchmark
+    public String resource() {
+        return secret.toUri();
+    }
+
+    @Benchmark
+    public String collectionWithLabelSelectors() {
+        return configMaps.toUri();
+    }
+
+    @Benchmark
+    public String watchWithSelectors() {
+        return watch.toUri();
+    }
+
+    @Benchmark
+    public String watchKey() {
+        // The key is cached by the query, measure its computation on a fresh copy.
+        return watch.withResourceVersion("184467").watchKey();
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.kubernetes.benchmarks;
+
+import io.gravitee.kubernetes.client.impl.ResourceVersionCache;
+import io.gravitee.kubernetes.client.model.v1.ObjectMeta;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the resource version deduplication applied to every event of a watch, both for events carrying a new
+ * resource version and for events replayed after a reconnection.
+ *
+ * @author GraviteeSource Team
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResourceVersionCacheBenchmark {
+
+    private static final int RESOURCES = 1024;
+
+    private final ObjectMeta[] replayed = new ObjectMeta[RESOURCES];
+    private final ObjectMeta[] updated = new ObjectMeta[RESOURCES];
+    private ResourceVersionCache cache;
+    private long resourceVersion;
+    private int index;
+
+    @Setup
+    public void setup() {
+        cache = new ResourceVersionCache();
+        for (int i = 0; i < RESOURCES; i++) {
+            replayed[i] = metadata("secret-" + i, Long.toString(++resourceVersion));
+            updated[i] = metadata("configmap-" + i, null);
+            cache.update("ADDED", replayed[i]);
+        }
+    }
+
+    @Benchmark
+    public boolean replayedVersion() {
+        return cache.update("MODIFIED", replayed[index++ & (RESOURCES - 1)]);
+    }
+
+    @Benchmark
+    public boolean newVersion() {
+        ObjectMeta metadata = updated[index++ & (RESOURCES - 1)];
+        // The version string is allocated by the decoder for every event anyway.
+        metadata.setResourceVersion(Long.toString(++resourceVersion));
+        return cache.update("MODIFIED", metadata);
+    }
+
+    private static ObjectMeta metadata(String name, String resourceVersion) {
+        ObjectMeta metadata = new ObjectMeta();
+        metadata.setNamespace("gravitee");
+        metadata.setName(name);
+        metadata.setResourceVersion(resourceVersion);
+        return metadata;
+    }
+}
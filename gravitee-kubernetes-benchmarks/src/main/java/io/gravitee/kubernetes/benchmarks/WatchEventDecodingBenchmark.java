@@ -0,0 +1,80 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.kubernetes.benchmarks;
+
+import io.gravitee.kubernetes.client.api.Type;
+import io.gravitee.kubernetes.client.impl.WatchEventDecoder;
+import io.gravitee.kubernetes.client.model.v1.Error;
+import io.gravitee.kubernetes.client.model.v1.Event;
+import io.gravitee.kubernetes.client.model.v1.Watchable;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the decoding of a watch frame through a {@link JsonObject} (tree then <code>mapTo</code>) with the
+ * streaming {@link WatchEventDecoder}.
+ *
+ * @author GraviteeSource Team
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WatchEventDecodingBenchmark {
+
+    @Param({ "SECRETS", "ENDPOINTSLICES" })
+    private Type type;
+
+    private Buffer frame;
+    private Class<? extends Event<Watchable>> eventType;
+    private WatchEventDecoder<Event<Watchable>> decoder;
+
+    @Setup
+    public void setup() {
+        String fixture = type == Type.SECRETS ? "secret-event.json" : "endpointslice-event.json";
+        frame = Buffer.buffer(Fixtures.load(fixture));
+        eventType = type.eventType();
+        decoder = WatchEventDecoder.of(type);
+    }
+
+    @Benchmark
+    public Event<Watchable> jsonObject() {
+        Event<Watchable> event = frame.toJsonObject().mapTo(eventType);
+        if ("ERROR".equals(event.getType())) {
+            return frame.toJsonObject().mapTo(Error.class) != null ? null : event;
+        }
+        return event;
+    }
+
+    @Benchmark
+    public Event<Watchable> streaming() {
+        return decoder.decode(frame);
+    }
+}
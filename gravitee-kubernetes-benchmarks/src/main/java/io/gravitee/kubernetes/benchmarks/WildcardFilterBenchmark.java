@@ -0,0 +1,74 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.kubernetes.benchmarks;
+
+import io.gravitee.kubernetes.client.impl.WildcardMatcher;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the filter applied to every event of a watch on a wildcard resource.
+ *
+ * @author GraviteeSource Team
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WildcardFilterBenchmark {
+
+    private static final int NAMES = 1024;
+
+    @Param({ "apim-gateway-*", "*-tls", "apim-*-tls", "apim-*-gateway-*-tls" })
+    private String wildcard;
+
+    private final String[] names = new String[NAMES];
+    private Predicate<String> matcher;
+    private int index;
+
+    @Setup
+    public void setup() {
+        for (int i = 0; i < NAMES; i++) {
+            names[i] = switch (i % 4) {
+                case 0 -> "apim-gateway-" + i + "-tls";
+                case 1 -> "apim-management-" + i + "-tls";
+                case 2 -> "apim-gateway-" + i + "-config";
+                default -> "kube-root-ca-" + i;
+            };
+        }
+        // Compiled once per watch subscription.
+        matcher = new WildcardMatcher().compile(wildcard);
+    }
+
+    @Benchmark
+    public boolean filter() {
+        String name = names[index++ & (NAMES - 1)];
+        return matcher.test(name);
+    }
+}
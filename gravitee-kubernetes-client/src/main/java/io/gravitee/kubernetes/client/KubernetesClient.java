@@ -15,14 +15,33 @@
  */
 package io.gravitee.kubernetes.client;
 
+import io.gravitee.kubernetes.client.api.PatchType;
 import io.gravitee.kubernetes.client.api.ResourceQuery;
 import io.gravitee.kubernetes.client.api.WatchQuery;
+import io.gravitee.kubernetes.client.exception.ResourceNotFoundException;
+import io.gravitee.kubernetes.client.impl.DecodedValueCache;
+import io.gravitee.kubernetes.client.informer.Informer;
+import io.gravitee.kubernetes.client.metrics.KubernetesClientMetrics;
 import io.gravitee.kubernetes.client.model.v1.Event;
 import io.gravitee.kubernetes.client.model.v1.Watchable;
+import io.gravitee.kubernetes.client.model.v1.WatchableList;
 import io.reactivex.rxjava3.core.Flowable;
 import io.reactivex.rxjava3.core.Maybe;
+import io.reactivex.rxjava3.core.Single;
+import io.vertx.core.json.JsonObject;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
 
 /**
+ * Implementations provide {@link #create}, {@link #get}, {@link #watch} and the write methods ({@link #update(Watchable)},
+ * both <code>patch</code> and {@link #apply}), the other methods defaulting to calls to {@link #get} and {@link #watch}.
+ * The write methods cannot be built on the others, so implementations written before they were added must now provide
+ * them.
+ *
  * @author Kamiel Ahmadpour (kamiel.ahmadpour at graviteesource.com)
  * @author GraviteeSource Team
  * @since 3.9.11
@@ -36,6 +55,49 @@ public interface KubernetesClient {
      */
     Maybe<Watchable> create(Watchable item);
 
+    /**
+     * Replaces an item. The resource version of the item is a precondition: the update fails with a
+     * <code>ResourceConflictException</code> if the resource changed since it was read.
+     *
+     * @param  item the item, as read from the cluster and modified
+     * @return the updated item
+     */
+    <T extends Watchable> Maybe<T> update(T item);
+
+    /**
+     * Patches an item with a JSON merge patch holding only the fields changed between the two versions. The resource
+     * version of <code>original</code> is a precondition: the patch fails with a <code>ResourceConflictException</code> if
+     * the resource changed since it was read. Nothing is sent if the versions do not differ.
+     *
+     * @param  original the item as read from the cluster
+     * @param  modified the wanted item
+     * @return the patched item
+     */
+    <T extends Watchable> Maybe<T> patch(T original, T modified);
+
+    /**
+     * Patches the resource of a single-resource query.
+     *
+     * @param  query the resource to patch
+     * @param  patchType a JSON merge or strategic merge patch, use {@link #apply} for server-side apply
+     * @param  patch the patch
+     * @return the patched item
+     */
+    <T> Maybe<T> patch(ResourceQuery<T> query, PatchType patchType, JsonObject patch);
+
+    /**
+     * Server-side applies an item: the API server merges the fields set on the item and records them as owned by the field
+     * manager, creating the resource if it does not exist. Unset fields are not sent, so the item should only hold the
+     * fields the caller manages.
+     *
+     * @param  item the item
+     * @param  fieldManager the name of the field manager, e.g. the name of the operator
+     * @param  force <code>true</code> to take over the fields owned by other managers instead of failing with a
+     *               <code>ResourceConflictException</code>
+     * @return the applied item
+     */
+    <T extends Watchable> Maybe<T> apply(T item, String fieldManager, boolean force);
+
     /**
      * Get an item given a resource query. Resource query can be just the name and the namespace of the
      * resource or it can be also a label
@@ -45,6 +107,61 @@ public interface KubernetesClient {
      */
     <T> Maybe<T> get(ResourceQuery<T> query);
 
+    /**
+     * Get the value of a single key of a secret or config map, e.g. <code>/namespace/secrets/name/key</code>.
+     * Secret values are base64 decoded. Decoded values are cached until the resource version changes.
+     * With <code>decodedValueOffHeap</code>, values are kept in direct buffers which are zeroed once the resource is
+     * modified or deleted (as seen by a watch) or the value evicted, so the buffer must not be held on to.
+     *
+     * @param  query a resource query with a resource key
+     * @return a read-only buffer on the value, empty if the resource has no such key
+     */
+    default Maybe<ByteBuffer> getValue(ResourceQuery<?> query) {
+        if (query.getResource() == null || query.getResourceKey() == null) {
+            return Maybe.error(new IllegalArgumentException("Value queries must reference a key of a single resource"));
+        }
+
+        // Decoded on each call, implementations may cache the values.
+        return get(query).mapOptional(resource ->
+            Optional.ofNullable(DecodedValueCache.decode((Watchable) resource, query.getResourceKey()))
+        );
+    }
+
+    /**
+     * Get several items at once, at most <code>batchGetConcurrency</code> at a time. When <code>batchListThreshold</code>
+     * is set, queries on at least that many resources of the same type and namespace are resolved with one list of their
+     * whole collection instead, the queries still unresolved when the list fails (e.g. not allowed) falling back to gets.
+     * Queries are told apart by type, namespace, resource and key, so queries with selectors, a resource version or a page
+     * are rejected.
+     *
+     * @param  queries the queries to resolve
+     * @return the items found keyed by their query, the queries of missing items being absent from the map
+     */
+    default Single<Map<ResourceQuery<?>, Object>> getAll(Collection<? extends ResourceQuery<?>> queries) {
+        // One get per query, implementations may batch them.
+        return Flowable.fromIterable(new LinkedHashSet<ResourceQuery<?>>(queries))
+            .flatMapMaybe(query ->
+                get(query)
+                    .map(value -> Map.<ResourceQuery<?>, Object>entry(query, value))
+                    .onErrorComplete(ResourceNotFoundException.class::isInstance)
+            )
+            .collect(LinkedHashMap::new, (results, entry) -> results.put(entry.getKey(), entry.getValue()));
+    }
+
+    /**
+     * List the items of a collection page by page, using <code>limit</code> and <code>continue</code> parameters.
+     * Items are emitted as soon as their page is received and the next page is only requested once the current one
+     * has been consumed, so at most one page is held in memory.
+     * The page size is the query limit if set, else the configured <code>listPageSize</code>.
+     *
+     * @param  query a query on a collection (e.g. all secrets of a namespace)
+     * @return the items of the collection
+     */
+    default <T extends Watchable> Flowable<T> list(ResourceQuery<? extends WatchableList<T>> query) {
+        // The whole collection at once, implementations may list it page by page.
+        return get(query).flattenAsFlowable(WatchableList::getItems);
+    }
+
     /**
      * Watch for different events (such as ADD, UPDATE, DELETE) for a specific resource in the cluster
      * This method will create and maintain a websocket connection to the API server
@@ -53,4 +170,25 @@ public interface KubernetesClient {
      * @return a watchable item if it exist
      */
     <E extends Event<? extends Watchable>> Flowable<E> watch(WatchQuery<E> query);
+
+    /**
+     * Start (or reuse) an informer keeping a local copy of the collection described by the query.
+     * Once synced, single-resource calls to {@link #get(ResourceQuery)} covered by the informer are served from its store
+     * without any call to the API server. The items served are the ones of the store and must not be modified.
+     *
+     * @param  query describing the collection to keep in sync
+     * @return the running informer
+     */
+    default <T extends Watchable> Informer<T> informer(WatchQuery<Event<T>> query) {
+        return new Informer<>(this, query).start();
+    }
+
+    /**
+     * Live metrics of the client: connection pool, list compression, watch reconnections and watch subscriber buffers.
+     *
+     * @return the metrics, never updated if the implementation does not record them
+     */
+    default KubernetesClientMetrics metrics() {
+        return new KubernetesClientMetrics();
+    }
 }
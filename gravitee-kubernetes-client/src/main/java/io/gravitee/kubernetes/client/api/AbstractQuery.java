@@ -15,6 +15,8 @@
  */
 package io.gravitee.kubernetes.client.api;
 
+import io.gravitee.kubernetes.client.model.v1.PartialObjectMetadata;
+import io.gravitee.kubernetes.client.model.v1.PartialObjectMetadataList;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
@@ -47,6 +49,12 @@ abstract class AbstractQuery<T> {
     @Getter
     protected final List<LabelSelector> labelSelectors;
 
+    /**
+     * Whether only the metadata of the resources is requested, as <code>PartialObjectMetadata</code>.
+     */
+    @Getter
+    protected final boolean metadataOnly;
+
     protected AbstractQuery(
         String namespace,
         Type type,
@@ -54,7 +62,8 @@ abstract class AbstractQuery<T> {
         String resourceKey,
         String resourceVersion,
         List<FieldSelector> fieldSelectors,
-        List<LabelSelector> labelSelectors
+        List<LabelSelector> labelSelectors,
+        boolean metadataOnly
     ) {
         this.type = type;
         this.namespace = namespace;
@@ -63,16 +72,30 @@ abstract class AbstractQuery<T> {
         this.resourceVersion = resourceVersion;
         this.fieldSelectors = fieldSelectors;
         this.labelSelectors = labelSelectors;
+        this.metadataOnly = metadataOnly;
     }
 
     public Class<T> getType() {
-        if (singleResource()) {
+        if (metadataOnly) {
+            return (Class<T>) (singleResource() ? PartialObjectMetadata.class : PartialObjectMetadataList.class);
+        } else if (singleResource()) {
             return (Class<T>) this.type.type();
         } else {
             return (Class<T>) this.type.listType();
         }
     }
 
+    public Type type() {
+        return type;
+    }
+
+    /**
+     * @return the class of the resources returned by this query, or of the objects of its events
+     */
+    public Class<?> objectType() {
+        return metadataOnly ? PartialObjectMetadata.class : type.type();
+    }
+
     protected abstract String uriResource();
 
     protected boolean singleResource() {
@@ -141,15 +164,16 @@ abstract class AbstractQuery<T> {
         AbstractQuery<?> that = (AbstractQuery<?>) o;
         return (
             type == that.type &&
-            namespace.equals(that.namespace) &&
+            Objects.equals(namespace, that.namespace) &&
             Objects.equals(resource, that.resource) &&
-            Objects.equals(resourceKey, that.resourceKey)
+            Objects.equals(resourceKey, that.resourceKey) &&
+            metadataOnly == that.metadataOnly
         );
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(type, namespace, resource, resourceKey);
+        return Objects.hash(type, namespace, resource, resourceKey, metadataOnly);
     }
 
     public static class AbstractQueryBuilder<T> {
@@ -161,6 +185,7 @@ abstract class AbstractQuery<T> {
         protected String resourceVersion;
         protected final List<FieldSelector> fieldSelectors = new ArrayList<>();
         protected final List<LabelSelector> labelSelectors = new ArrayList<>();
+        protected boolean metadataOnly;
 
         AbstractQueryBuilder(Type type) {
             this.type = type;
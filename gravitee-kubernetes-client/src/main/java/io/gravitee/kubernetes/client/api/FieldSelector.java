@@ -15,6 +15,7 @@
  */
 package io.gravitee.kubernetes.client.api;
 
+import io.gravitee.kubernetes.client.model.v1.ObjectMeta;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 
@@ -24,6 +25,9 @@ import java.nio.charset.StandardCharsets;
  */
 public class FieldSelector {
 
+    private static final String METADATA_NAME = "metadata.name";
+    private static final String METADATA_NAMESPACE = "metadata.namespace";
+
     private final String name;
     private final String value;
     private final FieldSelector.Operator operator;
@@ -42,6 +46,42 @@ public class FieldSelector {
         return new FieldSelector(name, FieldSelector.Operator.NOT_EQUALS, value);
     }
 
+    public String getName() {
+        return name;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public boolean isEquality() {
+        return operator == FieldSelector.Operator.EQUALS;
+    }
+
+    /**
+     * Whether this selector can be evaluated client-side with {@link #matches(ObjectMeta)}, i.e. it selects on the name
+     * or the namespace of the resource.
+     */
+    public boolean isMetadataSelector() {
+        return METADATA_NAME.equals(name) || METADATA_NAMESPACE.equals(name);
+    }
+
+    /**
+     * Evaluates this selector against the metadata of a resource, the same way the API server does.
+     *
+     * @param metadata the metadata of the resource
+     * @return <code>true</code> if the resource is selected
+     * @throws UnsupportedOperationException if this selector is not a metadata selector
+     */
+    public boolean matches(ObjectMeta metadata) {
+        String actual = switch (name) {
+            case METADATA_NAME -> metadata.getName();
+            case METADATA_NAMESPACE -> metadata.getNamespace();
+            default -> throw new UnsupportedOperationException("Field selector on " + name + " can not be evaluated client-side");
+        };
+        return isEquality() ? value.equals(actual) : !value.equals(actual);
+    }
+
     @Override
     public String toString() {
         return URLEncoder.encode(String.format("%s%s%s", name, operator.getValue(), value), StandardCharsets.UTF_8);
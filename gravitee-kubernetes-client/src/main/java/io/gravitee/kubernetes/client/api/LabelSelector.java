@@ -17,6 +17,7 @@ package io.gravitee.kubernetes.client.api;
 
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.util.Map;
 
 /**
  * @author David BRASSELY (david.brassely at graviteesource.com)
@@ -42,6 +43,29 @@ public class LabelSelector {
         return new LabelSelector(name, LabelSelector.Operator.NOT_EQUALS, value);
     }
 
+    public String getName() {
+        return name;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public boolean isEquality() {
+        return operator == LabelSelector.Operator.EQUALS;
+    }
+
+    /**
+     * Evaluates this selector against the labels of a resource, the same way the API server does.
+     *
+     * @param labels the labels of the resource, may be <code>null</code>
+     * @return <code>true</code> if the labels are selected
+     */
+    public boolean matches(Map<String, String> labels) {
+        String actual = labels != null ? labels.get(name) : null;
+        return isEquality() ? value.equals(actual) : !value.equals(actual);
+    }
+
     @Override
     public String toString() {
         return URLEncoder.encode(String.format("%s%s%s", name, operator.getValue(), value), StandardCharsets.UTF_8);
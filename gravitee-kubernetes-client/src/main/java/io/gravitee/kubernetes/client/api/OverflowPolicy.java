@@ -0,0 +1,39 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.kubernetes.client.api;
+
+/**
+ * What a watch does when the events buffered for a subscriber which does not keep up reach the buffer size. Each
+ * subscriber has its own buffer, a slow subscriber never delays the others.
+ *
+ * @author GraviteeSource Team
+ */
+public enum OverflowPolicy {
+    /**
+     * Drops the oldest buffered event.
+     */
+    DROP_OLDEST,
+    /**
+     * Once full, merges the next event into the latest buffered event of the same resource, so that the subscriber only
+     * gets its latest state, and drops the oldest buffered event if none is of the same resource. Events are never
+     * merged while the buffer is not full.
+     */
+    CONFLATE_BY_KEY,
+    /**
+     * Fails the subscriber with a <code>MissingBackpressureException</code>.
+     */
+    ERROR,
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.kubernetes.client.api;
+
+/**
+ * The kinds of patch the API server accepts, identified by the content type of the request.
+ *
+ * @author GraviteeSource Team
+ */
+public enum PatchType {
+    /**
+     * RFC 7386 merge patch: objects are merged, other values (lists included) replaced and <code>null</code> removes a field.
+     */
+    JSON_MERGE("application/merge-patch+json"),
+    /**
+     * Like a merge patch, lists of built-in types being merged by key (e.g. container name) instead of replaced.
+     */
+    STRATEGIC_MERGE("application/strategic-merge-patch+json"),
+    /**
+     * Server-side apply: the fields sent are owned by a field manager, conflicting with the fields of other managers.
+     */
+    APPLY("application/apply-patch+yaml");
+
+    private final String contentType;
+
+    PatchType(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+}
@@ -16,8 +16,11 @@
 package io.gravitee.kubernetes.client.api;
 
 import io.gravitee.kubernetes.client.model.v1.*;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Objects;
+import lombok.Getter;
 
 /**
  * @author David BRASSELY (david.brassely at graviteesource.com)
@@ -27,6 +30,12 @@ public class ResourceQuery<T> extends AbstractQuery<T> {
 
     public static final String NAMESPACE_CAN_NOT_BE_NULL = "Namespace can not be null";
 
+    @Getter
+    private final Integer limit;
+
+    @Getter
+    private final String continueToken;
+
     protected ResourceQuery(
         String namespace,
         Type type,
@@ -34,9 +43,14 @@ public class ResourceQuery<T> extends AbstractQuery<T> {
         String resourceKey,
         String resourceVersion,
         List<FieldSelector> fieldSelectors,
-        List<LabelSelector> labelSelectors
+        List<LabelSelector> labelSelectors,
+        Integer limit,
+        String continueToken,
+        boolean metadataOnly
     ) {
-        super(namespace, type, resource, resourceKey, resourceVersion, fieldSelectors, labelSelectors);
+        super(namespace, type, resource, resourceKey, resourceVersion, fieldSelectors, labelSelectors, metadataOnly);
+        this.limit = limit;
+        this.continueToken = continueToken;
     }
 
     @Override
@@ -44,6 +58,55 @@ public class ResourceQuery<T> extends AbstractQuery<T> {
         return singleResource() ? "/" + resource : "";
     }
 
+    @Override
+    protected List<String> buildParameters() {
+        List<String> parameters = super.buildParameters();
+
+        if (limit != null && limit > 0) {
+            parameters.add("limit=" + limit);
+        }
+
+        if (continueToken != null && !continueToken.isEmpty()) {
+            parameters.add("continue=" + URLEncoder.encode(continueToken, StandardCharsets.UTF_8));
+        }
+
+        return parameters;
+    }
+
+    /**
+     * Returns a copy of this query fetching a single page of the collection. The resource version only applies to the first
+     * page: the API server rejects a continue token along with a resource version, the token already pinning the list to
+     * the version of the first page.
+     *
+     * @param limit the maximum number of items of the page
+     * @param continueToken the token returned with the previous page, <code>null</code> for the first page
+     * @return a new resource query
+     */
+    public ResourceQuery<T> withPage(Integer limit, String continueToken) {
+        return new ResourceQuery<>(
+            namespace,
+            type,
+            resource,
+            resourceKey,
+            continueToken != null ? null : resourceVersion,
+            fieldSelectors,
+            labelSelectors,
+            limit,
+            continueToken,
+            metadataOnly
+        );
+    }
+
+    /**
+     * Returns a query on the whole collection this query belongs to, i.e. the same type and namespace without resource,
+     * selectors nor resource version.
+     *
+     * @return a new resource query
+     */
+    public <L> ResourceQuery<L> collection() {
+        return new ResourceQuery<>(namespace, type, null, null, null, List.of(), List.of(), null, null, metadataOnly);
+    }
+
     public static QueryBuilder<EndpointsList> endpoints() {
         return new QueryBuilder<>(Type.ENDPOINTS);
     }
@@ -104,6 +167,31 @@ public class ResourceQuery<T> extends AbstractQuery<T> {
         return new QueryBuilder<Secret>(Type.SECRETS).namespace(namespace).resource(secretName);
     }
 
+    /**
+     * Creates a query on the metadata of the resources of a type, across all namespaces.
+     *
+     * @param type the type of the resources
+     * @return a query builder returning lightweight <code>PartialObjectMetadata</code> items
+     */
+    public static QueryBuilder<PartialObjectMetadataList> metadata(Type type) {
+        QueryBuilder<PartialObjectMetadataList> builder = new QueryBuilder<>(type);
+        builder.metadataOnly = true;
+        return builder;
+    }
+
+    public static QueryBuilder<PartialObjectMetadataList> metadata(Type type, String namespace) {
+        Objects.requireNonNull(namespace, NAMESPACE_CAN_NOT_BE_NULL);
+        return metadata(type).namespace(namespace);
+    }
+
+    public static QueryBuilder<PartialObjectMetadata> metadata(Type type, String namespace, String name) {
+        Objects.requireNonNull(namespace, NAMESPACE_CAN_NOT_BE_NULL);
+        Objects.requireNonNull(name, "Resource name can not be null");
+        QueryBuilder<PartialObjectMetadata> builder = new QueryBuilder<PartialObjectMetadata>(type).namespace(namespace).resource(name);
+        builder.metadataOnly = true;
+        return builder;
+    }
+
     public static <T> QueryBuilder<T> from(String location) {
         Reference reference = Reference.from(location);
 
@@ -113,8 +201,25 @@ public class ResourceQuery<T> extends AbstractQuery<T> {
             .resourceKey(reference.resourceKey);
     }
 
+    /**
+     * Creates a query listing the collection observed by the given watch query, sharing its namespace and selectors.
+     *
+     * @param query the watch query to list the collection for
+     * @return a query builder for the list
+     */
+    public static <T> QueryBuilder<T> from(WatchQuery<?> query) {
+        QueryBuilder<T> builder = new QueryBuilder<T>(query.type).namespace(query.namespace);
+        builder.metadataOnly = query.metadataOnly;
+        query.fieldSelectors.forEach(builder::fieldSelector);
+        query.labelSelectors.forEach(builder::labelSelector);
+        return builder;
+    }
+
     public static class QueryBuilder<T> extends AbstractQueryBuilder<T> {
 
+        private Integer limit;
+        private String continueToken;
+
         QueryBuilder(Type type) {
             super(type);
         }
@@ -155,8 +260,29 @@ public class ResourceQuery<T> extends AbstractQuery<T> {
             return this;
         }
 
+        public QueryBuilder<T> limit(Integer limit) {
+            this.limit = limit;
+            return this;
+        }
+
+        public QueryBuilder<T> continueToken(String continueToken) {
+            this.continueToken = continueToken;
+            return this;
+        }
+
         public ResourceQuery<T> build() {
-            return new ResourceQuery<>(namespace, type, resource, resourceKey, resourceVersion, fieldSelectors, labelSelectors);
+            return new ResourceQuery<>(
+                namespace,
+                type,
+                resource,
+                resourceKey,
+                resourceVersion,
+                fieldSelectors,
+                labelSelectors,
+                limit,
+                continueToken,
+                metadataOnly
+            );
         }
     }
 }
@@ -60,4 +60,29 @@ public enum Type {
     public Class<? extends Event<Watchable>> eventType() {
         return eventType;
     }
+
+    /**
+     * @return the <code>apiVersion</code> of the resources, e.g. <code>v1</code> or <code>discovery.k8s.io/v1</code>
+     */
+    public String apiVersion() {
+        return apiBase.substring(apiBase.indexOf('/', 1) + 1);
+    }
+
+    public String kind() {
+        return clazz.getSimpleName();
+    }
+
+    /**
+     * @param clazz the class of a resource
+     * @return the type of the resources of this class
+     * @throws IllegalArgumentException if the class is not a supported resource
+     */
+    public static Type from(Class<?> clazz) {
+        for (Type type : values()) {
+            if (type.clazz == clazz) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported resource type " + clazz.getName());
+    }
 }
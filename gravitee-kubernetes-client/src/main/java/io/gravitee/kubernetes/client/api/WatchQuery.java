@@ -16,9 +16,12 @@
 package io.gravitee.kubernetes.client.api;
 
 import io.gravitee.kubernetes.client.model.v1.*;
+import java.time.Duration;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 import lombok.EqualsAndHashCode;
+import lombok.Getter;
 
 /**
  * @author David BRASSELY (david.brassely at graviteesource.com)
@@ -28,8 +31,34 @@ import lombok.EqualsAndHashCode;
 public class WatchQuery<E extends Event<? extends Watchable>> extends AbstractQuery<E> {
 
     public static final String NAMESPACE_CAN_NOT_BE_NULL = "Namespace can not be null";
+    private static final char WATCH_KEY_SEPARATOR = '|';
+
+    @Getter
     private final boolean allowWatchBookmarks;
 
+    @Getter
+    private final boolean emitBookmarks;
+
+    @Getter
+    private final boolean listThenWatch;
+
+    // Buffer of each subscriber of the watch, not part of what is watched.
+    @Getter
+    @EqualsAndHashCode.Exclude
+    private final int bufferSize;
+
+    @Getter
+    @EqualsAndHashCode.Exclude
+    private final OverflowPolicy overflowPolicy;
+
+    // In milliseconds, 0 to not conflate.
+    @Getter
+    @EqualsAndHashCode.Exclude
+    private final long conflationWindow;
+
+    @EqualsAndHashCode.Exclude
+    private String watchKey;
+
     protected WatchQuery(
         String namespace,
         Type type,
@@ -38,10 +67,21 @@ public class WatchQuery<E extends Event<? extends Watchable>> extends AbstractQu
         String resourceVersion,
         List<FieldSelector> fieldSelectors,
         List<LabelSelector> labelSelectors,
-        boolean allowWatchBookmarks
+        boolean allowWatchBookmarks,
+        boolean emitBookmarks,
+        boolean listThenWatch,
+        boolean metadataOnly,
+        int bufferSize,
+        OverflowPolicy overflowPolicy,
+        long conflationWindow
     ) {
-        super(namespace, type, resource, resourceKey, resourceVersion, fieldSelectors, labelSelectors);
+        super(namespace, type, resource, resourceKey, resourceVersion, fieldSelectors, labelSelectors, metadataOnly);
         this.allowWatchBookmarks = allowWatchBookmarks;
+        this.emitBookmarks = emitBookmarks;
+        this.listThenWatch = listThenWatch;
+        this.bufferSize = bufferSize;
+        this.overflowPolicy = overflowPolicy;
+        this.conflationWindow = conflationWindow;
     }
 
     public static WatchQueryBuilder<Endpoints, Event<Endpoints>> endpoints() {
@@ -93,6 +133,23 @@ public class WatchQuery<E extends Event<? extends Watchable>> extends AbstractQu
         return secrets(namespace).resource(secretName);
     }
 
+    /**
+     * Creates a query watching the metadata of the resources of a type, across all namespaces.
+     *
+     * @param type the type of the resources
+     * @return a query builder emitting events on lightweight <code>PartialObjectMetadata</code> objects
+     */
+    public static WatchQueryBuilder<PartialObjectMetadata, Event<PartialObjectMetadata>> metadata(Type type) {
+        WatchQueryBuilder<PartialObjectMetadata, Event<PartialObjectMetadata>> builder = new WatchQueryBuilder<>(type);
+        builder.metadataOnly = true;
+        return builder;
+    }
+
+    public static WatchQueryBuilder<PartialObjectMetadata, Event<PartialObjectMetadata>> metadata(Type type, String namespace) {
+        Objects.requireNonNull(namespace, NAMESPACE_CAN_NOT_BE_NULL);
+        return metadata(type).namespace(namespace);
+    }
+
     public static <T extends Watchable> WatchQueryBuilder<T, Event<T>> from(String location) {
         Reference reference = Reference.from(location);
 
@@ -121,13 +178,174 @@ public class WatchQuery<E extends Event<? extends Watchable>> extends AbstractQu
         return parameters;
     }
 
+    /**
+     * Returns a copy of this query starting the watch from the given resource version.
+     *
+     * @param resourceVersion the resource version to watch from
+     * @return a new watch query
+     */
+    public WatchQuery<E> withResourceVersion(String resourceVersion) {
+        return new WatchQuery<>(
+            namespace,
+            type,
+            resource,
+            resourceKey,
+            resourceVersion,
+            fieldSelectors,
+            labelSelectors,
+            allowWatchBookmarks,
+            emitBookmarks,
+            listThenWatch,
+            metadataOnly,
+            bufferSize,
+            overflowPolicy,
+            conflationWindow
+        );
+    }
+
+    /**
+     * Returns a copy of this query asking for bookmarks and emitting them, e.g. to tell a quiet collection from a broken
+     * watch.
+     *
+     * @return a new watch query
+     */
+    public WatchQuery<E> withBookmarks() {
+        return new WatchQuery<>(
+            namespace,
+            type,
+            resource,
+            resourceKey,
+            resourceVersion,
+            fieldSelectors,
+            labelSelectors,
+            true,
+            true,
+            listThenWatch,
+            metadataOnly,
+            bufferSize,
+            overflowPolicy,
+            conflationWindow
+        );
+    }
+
+    /**
+     * Returns a key identifying the watched resources: queries with the same key, even with selectors declared in a
+     * different order, watch the same events and can share one connection.
+     *
+     * @return the structural key of this query
+     */
+    public String watchKey() {
+        String key = watchKey;
+        if (key == null) {
+            key = buildWatchKey();
+            watchKey = key;
+        }
+        return key;
+    }
+
+    private String buildWatchKey() {
+        StringBuilder builder = new StringBuilder(64)
+            .append(type.name())
+            .append(WATCH_KEY_SEPARATOR)
+            .append(namespace != null ? namespace : "")
+            .append(WATCH_KEY_SEPARATOR);
+        appendSorted(builder, fieldSelectors);
+        builder.append(WATCH_KEY_SEPARATOR);
+        appendSorted(builder, labelSelectors);
+        builder
+            .append(WATCH_KEY_SEPARATOR)
+            .append(resourceVersion != null ? resourceVersion : "")
+            .append(WATCH_KEY_SEPARATOR)
+            .append(allowWatchBookmarks ? 'b' : '-')
+            .append(emitBookmarks ? 'e' : '-')
+            .append(listThenWatch ? 'l' : '-')
+            .append(metadataOnly ? 'm' : '-');
+        return builder.toString();
+    }
+
+    private static void appendSorted(StringBuilder builder, List<?> selectors) {
+        if (selectors.size() == 1) {
+            builder.append(selectors.get(0));
+        } else if (selectors.size() > 1) {
+            // Selectors are url encoded, the separators can not appear in them.
+            String[] values = new String[selectors.size()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = selectors.get(i).toString();
+            }
+            Arrays.sort(values);
+            builder.append(String.join(",", values));
+        }
+    }
+
+    /**
+     * Returns a copy of this query watching the whole collection of its type and namespace, without any selector.
+     *
+     * @return a new watch query
+     */
+    public WatchQuery<E> withoutSelectors() {
+        return new WatchQuery<>(
+            namespace,
+            type,
+            null,
+            null,
+            null,
+            List.of(),
+            List.of(),
+            allowWatchBookmarks,
+            emitBookmarks,
+            listThenWatch,
+            metadataOnly,
+            bufferSize,
+            overflowPolicy,
+            conflationWindow
+        );
+    }
+
+    /**
+     * Whether all the selectors of this query can be evaluated client-side with {@link #selects(ObjectMeta)}.
+     */
+    public boolean isClientSideSelectable() {
+        for (FieldSelector fieldSelector : fieldSelectors) {
+            if (!fieldSelector.isMetadataSelector()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Evaluates the field and label selectors of this query against the metadata of a resource.
+     *
+     * @param metadata the metadata of the resource
+     * @return <code>true</code> if the resource is selected by this query
+     */
+    public boolean selects(ObjectMeta metadata) {
+        for (FieldSelector fieldSelector : fieldSelectors) {
+            if (!fieldSelector.matches(metadata)) {
+                return false;
+            }
+        }
+        for (LabelSelector labelSelector : labelSelectors) {
+            if (!labelSelector.matches(metadata.getLabels())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** @noinspection unchecked*/
     public Class<? extends Event<Watchable>> getEventType() {
-        return type.eventType();
+        return metadataOnly ? (Class<? extends Event<Watchable>>) (Class<?>) PartialObjectMetadataEvent.class : type.eventType();
     }
 
     public static class WatchQueryBuilder<T extends Watchable, E extends Event<T>> extends AbstractQueryBuilder<T> {
 
         private boolean allowWatchBookmarks = false;
+        private boolean emitBookmarks = false;
+        private boolean listThenWatch = false;
+        private int bufferSize;
+        private OverflowPolicy overflowPolicy;
+        private long conflationWindow;
 
         WatchQueryBuilder(Type type) {
             super(type);
@@ -172,11 +390,60 @@ public class WatchQuery<E extends Event<? extends Watchable>> extends AbstractQu
             return this;
         }
 
+        /**
+         * Asks the API server for periodic <code>BOOKMARK</code> events. They are not emitted: they advance the resource
+         * version the watch resumes from after a disconnection, so that even a quiet collection resumes close to where it
+         * was instead of from its current state.
+         */
         public WatchQueryBuilder<T, E> allowWatchBookmarks(boolean allowWatchBookmarks) {
             this.allowWatchBookmarks = allowWatchBookmarks;
             return this;
         }
 
+        /**
+         * Also emits the <code>BOOKMARK</code> events, which carry no resource but tell the watch is alive even when the
+         * collection is quiet. Implies {@link #allowWatchBookmarks(boolean)}.
+         */
+        public WatchQueryBuilder<T, E> emitBookmarks(boolean emitBookmarks) {
+            this.emitBookmarks = emitBookmarks;
+            return this;
+        }
+
+        /**
+         * Lists the collection before watching it: current items are emitted as <code>ADDED</code> events, then the watch
+         * starts from the listed resource version and resumes from the last seen one after a disconnection.
+         * A full relist only happens when the resource version is gone (HTTP 410).
+         */
+        public WatchQueryBuilder<T, E> listThenWatch(boolean listThenWatch) {
+            this.listThenWatch = listThenWatch;
+            return this;
+        }
+
+        /**
+         * Bounds the events buffered for the subscriber when it does not keep up with the watch, instead of the buffer
+         * size and overflow policy of the client.
+         *
+         * @param bufferSize the maximum number of buffered events, <code>0</code> for no limit
+         * @param overflowPolicy what to do once the buffer is full
+         */
+        public WatchQueryBuilder<T, E> buffer(int bufferSize, OverflowPolicy overflowPolicy) {
+            this.bufferSize = bufferSize;
+            this.overflowPolicy = Objects.requireNonNull(overflowPolicy, "Overflow policy can not be null");
+            return this;
+        }
+
+        /**
+         * Conflates the events of the subscriber: the first event of a burst is held for the window, events of the same
+         * resource received meanwhile being merged into the latest state (a resource added then modified is still
+         * added), and the events are emitted at the end of the window. The window is the maximum latency added.
+         *
+         * @param window the conflation window, <code>0</code> to emit events as they come
+         */
+        public WatchQueryBuilder<T, E> conflate(Duration window) {
+            this.conflationWindow = window.toMillis();
+            return this;
+        }
+
         public WatchQuery<E> build() {
             return new WatchQuery<>(
                 namespace,
@@ -186,7 +453,13 @@ public class WatchQuery<E extends Event<? extends Watchable>> extends AbstractQu
                 resourceVersion,
                 fieldSelectors,
                 labelSelectors,
-                allowWatchBookmarks
+                allowWatchBookmarks || emitBookmarks,
+                emitBookmarks,
+                listThenWatch,
+                metadataOnly,
+                bufferSize,
+                overflowPolicy,
+                conflationWindow
             );
         }
     }
@@ -17,6 +17,7 @@ package io.gravitee.kubernetes.client.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import io.gravitee.kubernetes.client.api.OverflowPolicy;
 import io.gravitee.kubernetes.client.model.config.*;
 import java.io.File;
 import java.io.FileReader;
@@ -58,6 +59,23 @@ public class KubernetesConfig {
     public static final String KUBERNETES_KUBECONFIG_FILE = "kubeconfig";
     static final Long DEFAULT_WEBSOCKET_TIMEOUT = 5 * 60 * 1000L;
     static final Integer DEFAULT_API_TIMEOUT = 5 * 60 * 1000;
+    static final int DEFAULT_LIST_PAGE_SIZE = 500;
+    static final int DEFAULT_LIST_COMPRESSION_THRESHOLD = 128 * 1024;
+    static final int DEFAULT_BATCH_GET_CONCURRENCY = 16;
+    static final int DEFAULT_DECODED_VALUE_CACHE_MAX_SIZE = 1024;
+    static final int DEFAULT_GET_MEMOIZATION_MAX_SIZE = 1024;
+    static final int DEFAULT_WATCH_SNAPSHOT_MAX_SIZE = 1024;
+    static final long DEFAULT_WATCH_RECONNECT_INITIAL_DELAY = 1000L;
+    static final long DEFAULT_WATCH_RECONNECT_MAX_DELAY = 30 * 1000L;
+    static final int DEFAULT_WATCH_RECONNECT_FAILURE_THRESHOLD = 20;
+    static final long DEFAULT_WATCH_RECONNECT_CIRCUIT_OPEN_DURATION = 30 * 1000L;
+    static final int DEFAULT_WATCH_RECONNECT_MAX_ATTEMPTS = 0;
+    static final int DEFAULT_HTTP2_MAX_POOL_SIZE = 2;
+    static final int DEFAULT_MAX_POOL_SIZE = 5;
+    static final int DEFAULT_KEEP_ALIVE_TIMEOUT = 60;
+    static final int DEFAULT_POOL_CLEANER_PERIOD = 1000;
+    static final int DEFAULT_PIPELINING_LIMIT = 10;
+    static final int DEFAULT_HTTP2_KEEP_ALIVE_TIMEOUT = 60;
     private String apiServerHost;
     private int apiServerPort;
     private String caCertData;
@@ -78,6 +96,67 @@ public class KubernetesConfig {
     private String currentNamespace;
     private long websocketTimeout = DEFAULT_WEBSOCKET_TIMEOUT;
     private int apiTimeout = DEFAULT_API_TIMEOUT;
+    // Number of items requested per page when streaming a list, 0 to list the whole collection at once.
+    private int listPageSize = DEFAULT_LIST_PAGE_SIZE;
+    // Number of resources of the same type and namespace from which a multi-get lists their whole collection instead of getting
+    // them one by one, 0 to always get them. Listing needs the list permission and reads every resource of the namespace.
+    private int batchListThreshold;
+    private int batchGetConcurrency = DEFAULT_BATCH_GET_CONCURRENCY;
+    // Ask for lists compressed with gzip, unless the last list of the collection was smaller than the threshold (in bytes).
+    private boolean listCompression;
+    private int listCompressionThreshold = DEFAULT_LIST_COMPRESSION_THRESHOLD;
+    // In milliseconds, how long the get of a single resource is reused by later identical gets, 0 to only share gets in flight.
+    private long getMemoizationTtl;
+    // Maximum number of get results reused, 0 for no limit.
+    private int getMemoizationMaxSize = DEFAULT_GET_MEMOIZATION_MAX_SIZE;
+    // Maximum number of secrets and config maps whose values are kept decoded for value gets, 0 for no limit.
+    private int decodedValueCacheMaxSize = DEFAULT_DECODED_VALUE_CACHE_MAX_SIZE;
+    // Keep decoded values off-heap, zeroed once their secret or config map is modified, deleted or evicted.
+    private boolean decodedValueOffHeap;
+    // Maximum number of resources tracked per watch to deduplicate events, 0 for no limit.
+    private int watchResourceVersionCacheMaxSize;
+    // Maximum number of objects a watch keeps to replay them to late subscribers, 0 for no limit. Beyond it, the watch keeps
+    // none and late subscribers only receive the live events. A list-then-watch keeps all of them to relist.
+    private int watchSnapshotMaxSize = DEFAULT_WATCH_SNAPSHOT_MAX_SIZE;
+    // Share one upstream watch per type and namespace between watches selecting resources by name or labels.
+    private boolean watchMultiplexing;
+    // Maximum number of events buffered for a watch subscriber not keeping up, 0 for no limit, and what to do once reached.
+    private int watchBufferSize;
+    private OverflowPolicy watchOverflowPolicy = OverflowPolicy.DROP_OLDEST;
+    // In milliseconds, watches reconnect after a random delay up to a backoff doubling from the initial delay to the max delay.
+    private long watchReconnectInitialDelay = DEFAULT_WATCH_RECONNECT_INITIAL_DELAY;
+    private long watchReconnectMaxDelay = DEFAULT_WATCH_RECONNECT_MAX_DELAY;
+    // Consecutive failures of the watches of the client holding all reconnections for the open duration (ms), 0 to disable.
+    private int watchReconnectFailureThreshold = DEFAULT_WATCH_RECONNECT_FAILURE_THRESHOLD;
+    private long watchReconnectCircuitOpenDuration = DEFAULT_WATCH_RECONNECT_CIRCUIT_OPEN_DURATION;
+    // Reconnections of a watch failing in a row before the failure reaches its subscribers, 0 (default) for no limit.
+    private int watchReconnectMaxAttempts = DEFAULT_WATCH_RECONNECT_MAX_ATTEMPTS;
+    // Connection pool of the http client, sized for the requests in flight (e.g. secret resolutions at startup).
+    private int maxPoolSize = DEFAULT_MAX_POOL_SIZE;
+    // Requests waiting for a connection beyond this limit are rejected, -1 for no limit.
+    private int maxWaitQueueSize = -1;
+    private boolean keepAlive = true;
+    // In seconds, pooled connections idle for longer are evicted.
+    private int keepAliveTimeout = DEFAULT_KEEP_ALIVE_TIMEOUT;
+    // In milliseconds, how often idle connections are evicted from the pool.
+    private int poolCleanerPeriod = DEFAULT_POOL_CLEANER_PERIOD;
+    private boolean pipelining;
+    private int pipeliningLimit = DEFAULT_PIPELINING_LIMIT;
+    // Sizing of the dedicated Vert.x instance (not used when the client is given one), 0 for the Vert.x defaults. The instance
+    // is shared by all the clients of the JVM not given one, only the sizing of the first of them applies.
+    private int eventLoopPoolSize;
+    private int workerPoolSize;
+    // Decode responses and watch events on worker threads instead of the event loop.
+    private boolean workerOffload;
+    // Use HTTP/2: requests and watches (as streaming GETs) are multiplexed over a few connections instead of one websocket per watch.
+    private boolean http2;
+    private int http2MaxPoolSize = DEFAULT_HTTP2_MAX_POOL_SIZE;
+    // Maximum concurrent streams per connection, each watch holding one, -1 to use the limit of the API server.
+    private int http2MultiplexingLimit = -1;
+    // In seconds.
+    private int http2KeepAliveTimeout = DEFAULT_HTTP2_KEEP_ALIVE_TIMEOUT;
+    // Ask for protobuf instead of JSON for gets, lists and watches of the core types, JSON remaining the fallback.
+    private boolean protobuf;
     private String masterUrl;
     private String apiVersion = "v1";
     private String clientCertData;
@@ -0,0 +1,219 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.kubernetes.client.impl;
+
+import io.gravitee.kubernetes.client.model.v1.ConfigMap;
+import io.gravitee.kubernetes.client.model.v1.ObjectMeta;
+import io.gravitee.kubernetes.client.model.v1.Secret;
+import io.gravitee.kubernetes.client.model.v1.Watchable;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps the decoded values of secrets and config maps, so that reading the same key again does not decode it again as long
+ * as the resource version is unchanged.
+ * <p>
+ * Secret <code>data</code> and config map <code>binaryData</code> values are base64 decoded, other values are UTF-8 encoded.
+ * When a maximum size is set, the values of the least recently read resources are evicted first.
+ * <p>
+ * Values can be kept off-heap in direct buffers. Their memory is then zeroed as soon as they are replaced, evicted or
+ * released (e.g. the resource is modified or deleted), callers being handed read-only views on it: a view must not be
+ * used once its resource has changed.
+ *
+ * @author GraviteeSource Team
+ */
+public final class DecodedValueCache {
+
+    private final Map<String, DecodedValues> resources;
+    private final boolean offHeap;
+
+    public DecodedValueCache() {
+        this(0, false);
+    }
+
+    /**
+     * @param maxSize the maximum number of resources to keep the values of, <code>0</code> for no limit
+     * @param offHeap <code>true</code> to keep values in direct buffers zeroed once no longer cached
+     */
+    public DecodedValueCache(int maxSize, boolean offHeap) {
+        this.offHeap = offHeap;
+        this.resources = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, DecodedValues> eldest) {
+                if (maxSize > 0 && size() > maxSize) {
+                    release(eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns the decoded value of a key of a secret or config map.
+     *
+     * @param resource the secret or config map
+     * @param key the key of the value
+     * @return a read-only buffer on the value, <code>null</code> if the resource has no such key
+     */
+    public ByteBuffer get(Watchable resource, String key) {
+        ObjectMeta metadata = resource.metaData();
+        String resourceVersion = metadata != null ? metadata.getResourceVersion() : null;
+        if (resourceVersion == null) {
+            // Nothing to tell a value is still up to date, hand over a buffer nobody else holds.
+            return decode(resource, key);
+        }
+
+        String resourceKey = resourceKey(resource, metadata);
+        synchronized (this) {
+            DecodedValues cached = resources.get(resourceKey);
+            if (cached != null && cached.resourceVersion.equals(resourceVersion) && cached.values.containsKey(key)) {
+                return readOnly(cached.values.get(key));
+            }
+        }
+
+        ByteBuffer value = decode(resource, key, offHeap);
+        synchronized (this) {
+            DecodedValues cached = resources.get(resourceKey);
+            if (cached == null || !cached.resourceVersion.equals(resourceVersion)) {
+                if (cached != null && older(resourceVersion, cached.resourceVersion)) {
+                    // A newer version was cached while this one was decoded, keep it and hand over a buffer nobody else holds.
+                    zero(value);
+                    return decode(resource, key);
+                }
+                if (cached != null) {
+                    release(cached);
+                }
+                cached = new DecodedValues(resourceVersion);
+                resources.put(resourceKey, cached);
+            }
+
+            ByteBuffer existing = cached.values.putIfAbsent(key, value);
+            if (existing != null) {
+                // Decoded concurrently by another caller already holding the cached value, keep it and drop this one.
+                zero(value);
+                value = existing;
+            }
+        }
+        return readOnly(value);
+    }
+
+    /**
+     * Decodes a value of a secret or config map on the heap, without caching it.
+     *
+     * @param resource the secret or config map
+     * @param key the key of the value
+     * @return a read-only buffer on the value, <code>null</code> if the resource has no such key
+     */
+    public static ByteBuffer decode(Watchable resource, String key) {
+        return readOnly(decode(resource, key, false));
+    }
+
+    /**
+     * Drops the values of a resource, e.g. because it has been modified or deleted.
+     *
+     * @param resource the secret or config map
+     */
+    public synchronized void release(Watchable resource) {
+        ObjectMeta metadata = resource.metaData();
+        if (metadata != null) {
+            DecodedValues released = resources.remove(resourceKey(resource, metadata));
+            if (released != null) {
+                release(released);
+            }
+        }
+    }
+
+    public synchronized int size() {
+        return resources.size();
+    }
+
+    private void release(DecodedValues released) {
+        released.values.values().forEach(this::zero);
+    }
+
+    private void zero(ByteBuffer value) {
+        if (offHeap && value != null) {
+            for (int i = 0; i < value.capacity(); i++) {
+                value.put(i, (byte) 0);
+            }
+        }
+    }
+
+    private static boolean older(String resourceVersion, String other) {
+        // Resource versions are only compared when both are numbers, as the API server generates them.
+        try {
+            return Long.parseLong(resourceVersion) < Long.parseLong(other);
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private static String resourceKey(Watchable resource, ObjectMeta metadata) {
+        return resource.getClass().getSimpleName() + '/' + metadata.getNamespace() + '/' + metadata.getName();
+    }
+
+    private static ByteBuffer decode(Watchable resource, String key, boolean direct) {
+        byte[] bytes;
+        if (resource instanceof Secret secret) {
+            bytes = decode(secret.getData(), secret.getStringData(), key);
+        } else if (resource instanceof ConfigMap configMap) {
+            bytes = decode(configMap.getBinaryData(), configMap.getData(), key);
+        } else {
+            throw new IllegalArgumentException("Values can only be read from secrets and config maps");
+        }
+
+        if (bytes == null) {
+            return null;
+        } else if (!direct) {
+            return ByteBuffer.wrap(bytes);
+        }
+
+        ByteBuffer value = ByteBuffer.allocateDirect(bytes.length).put(bytes).flip();
+        // Do not leave a copy on the heap.
+        Arrays.fill(bytes, (byte) 0);
+        return value;
+    }
+
+    private static byte[] decode(Map<String, String> base64Values, Map<String, String> values, String key) {
+        if (base64Values != null && base64Values.get(key) != null) {
+            return Base64.getDecoder().decode(base64Values.get(key));
+        } else if (values != null && values.get(key) != null) {
+            return values.get(key).getBytes(StandardCharsets.UTF_8);
+        }
+        return null;
+    }
+
+    private static ByteBuffer readOnly(ByteBuffer value) {
+        // Each caller gets its own position and limit.
+        return value != null ? value.asReadOnlyBuffer() : null;
+    }
+
+    private static final class DecodedValues {
+
+        private final String resourceVersion;
+        private final Map<String, ByteBuffer> values = new HashMap<>();
+
+        private DecodedValues(String resourceVersion) {
+            this.resourceVersion = resourceVersion;
+        }
+    }
+}
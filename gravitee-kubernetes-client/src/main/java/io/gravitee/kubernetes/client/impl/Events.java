@@ -0,0 +1,55 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.kubernetes.client.impl;
+
+import io.gravitee.kubernetes.client.model.v1.Event;
+import io.gravitee.kubernetes.client.model.v1.Watchable;
+import java.lang.reflect.Constructor;
+
+/**
+ * @author GraviteeSource Team
+ */
+final class Events {
+
+    private static final ClassValue<Constructor<?>> CONSTRUCTORS = new ClassValue<>() {
+        @Override
+        protected Constructor<?> computeValue(Class<?> type) {
+            try {
+                return type.getDeclaredConstructor();
+            } catch (NoSuchMethodException e) {
+                throw new IllegalStateException("Event type " + type.getName() + " has no default constructor", e);
+            }
+        }
+    };
+
+    private Events() {}
+
+    /**
+     * Builds an event of the given type, e.g. from a decoded watch frame or from an item of a list presented as <code>ADDED</code>.
+     *
+     * @noinspection unchecked
+     */
+    static <E extends Event<? extends Watchable>> E newEvent(Class<E> eventType, String type, Watchable object) {
+        try {
+            Event<Watchable> event = (Event<Watchable>) CONSTRUCTORS.get(eventType).newInstance();
+            event.setType(type);
+            event.setObject(object);
+            return (E) event;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Unable to instantiate event of type " + eventType.getName(), e);
+        }
+    }
+}
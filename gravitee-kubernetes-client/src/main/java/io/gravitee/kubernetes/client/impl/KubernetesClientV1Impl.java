@@ -15,26 +15,40 @@
  */
 package io.gravitee.kubernetes.client.impl;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.gravitee.common.http.HttpStatusCode;
 import io.gravitee.common.http.MediaType;
 import io.gravitee.common.util.KeyStoreUtils;
 import io.gravitee.kubernetes.client.KubernetesClient;
+import io.gravitee.kubernetes.client.api.PatchType;
 import io.gravitee.kubernetes.client.api.ResourceQuery;
+import io.gravitee.kubernetes.client.api.Type;
 import io.gravitee.kubernetes.client.api.WatchQuery;
 import io.gravitee.kubernetes.client.config.KubernetesConfig;
+import io.gravitee.kubernetes.client.exception.ResourceConflictException;
 import io.gravitee.kubernetes.client.exception.ResourceNotFoundException;
 import io.gravitee.kubernetes.client.exception.ResourceVersionNotFoundException;
+import io.gravitee.kubernetes.client.informer.Informer;
+import io.gravitee.kubernetes.client.informer.ResourceStore;
+import io.gravitee.kubernetes.client.metrics.KubernetesClientMetrics;
 import io.gravitee.kubernetes.client.model.v1.*;
-import io.gravitee.kubernetes.client.model.v1.Error;
 import io.reactivex.rxjava3.core.Flowable;
 import io.reactivex.rxjava3.core.FlowableTransformer;
 import io.reactivex.rxjava3.core.Maybe;
+import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.schedulers.Schedulers;
 import io.vertx.core.VertxOptions;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.http.HttpClosedException;
 import io.vertx.core.http.HttpHeaders;
 import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpVersion;
+import io.vertx.core.http.PoolOptions;
 import io.vertx.core.http.RequestOptions;
 import io.vertx.core.http.UpgradeRejectedException;
 import io.vertx.core.http.WebSocketClientOptions;
@@ -43,16 +57,36 @@ import io.vertx.core.json.JsonObject;
 import io.vertx.core.net.ClientOptionsBase;
 import io.vertx.core.net.JksOptions;
 import io.vertx.core.net.PemTrustOptions;
+import io.vertx.rxjava3.core.RxHelper;
 import io.vertx.rxjava3.core.Vertx;
 import io.vertx.rxjava3.core.http.HttpClient;
 import io.vertx.rxjava3.core.http.HttpClientRequest;
+import io.vertx.rxjava3.core.http.HttpClientResponse;
 import io.vertx.rxjava3.core.http.WebSocketClient;
+import io.vertx.rxjava3.core.parsetools.RecordParser;
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.security.KeyStore;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
-import java.util.regex.Pattern;
+import java.util.function.Predicate;
+import java.util.zip.GZIPInputStream;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -64,90 +98,235 @@ import lombok.extern.slf4j.Slf4j;
 public class KubernetesClientV1Impl implements KubernetesClient {
 
     private static final long PING_HANDLER_DELAY = 5000L;
-    public static final long DISCONNECT_REPEAT_AFTER_MILLIS = 1000L;
-    private static final Vertx VERTX;
-    public static final int LATE_SUBSCRIBER_REPLAY_DELAY_SECONDS = 5;
-
-    static {
-        // Maintain only one dedicated instance of vertx.
-        VertxOptions options = new VertxOptions();
-        options.getMetricsOptions().setEnabled(false);
-        VERTX = Vertx.vertx(options);
-    }
+    private static final String WATCH_FRAME_DELIMITER = "\n";
+    private static final String GZIP = "gzip";
+    // Unset fields are left out of writes, a null meaning a removal in merge patches and an owned field with apply.
+    private static final ObjectMapper WRITE_MAPPER = new ObjectMapper().setSerializationInclusion(JsonInclude.Include.NON_NULL);
+    private static final String PROTOBUF_ACCEPT = ProtobufDecoder.MEDIA_TYPE + ", " + MediaType.APPLICATION_JSON;
+    private static final String PROTOBUF_WATCH_ACCEPT = ProtobufDecoder.WATCH_MEDIA_TYPE + ", " + MediaType.APPLICATION_JSON;
+    private static final String METADATA_ACCEPT =
+        "application/json;as=PartialObjectMetadata;g=meta.k8s.io;v=v1, " + MediaType.APPLICATION_JSON;
+    private static final String METADATA_LIST_ACCEPT =
+        "application/json;as=PartialObjectMetadataList;g=meta.k8s.io;v=v1, " + MediaType.APPLICATION_JSON;
+    private static Vertx defaultVertx;
+    // Sizing the dedicated instance was created with, by the first client needing it.
+    private static int defaultEventLoopPoolSize;
+    private static int defaultWorkerPoolSize;
 
     private final KubernetesConfig config;
+    // Vert.x instance given by the host application, null to use the dedicated one.
+    private final Vertx vertx;
+    private Scheduler workerScheduler;
+    private SingleFlight singleFlight;
+    private ReconnectScheduler reconnectScheduler;
+    private volatile DecodedValueCache decodedValues;
+    // HTTP/2 was asked for but the API server (or a proxy) answered with HTTP/1.1, watches then use websockets.
+    private volatile boolean http1Negotiated;
     private HttpClient httpClient;
     private WebSocketClient webSocketClient;
     private final Map<String, Watch> watchMap = new ConcurrentHashMap<>();
-    private final Map<String, Pattern> patternCache = new ConcurrentHashMap<>();
+    private final WildcardMatcher wildcardMatcher = new WildcardMatcher();
+    private final KubernetesClientMetrics metrics = new KubernetesClientMetrics();
+    // Whether the last list of a collection was large enough to ask for it compressed.
+    private final Map<String, Boolean> largeCollections = new ConcurrentHashMap<>();
+    private final Map<String, Informer<?>> informers = new ConcurrentHashMap<>();
 
     private static final char WATCH_KEY_SEPARATOR = '#';
 
     public KubernetesClientV1Impl() {
-        config = KubernetesConfig.getInstance();
+        this(KubernetesConfig.getInstance());
     }
 
     public KubernetesClientV1Impl(KubernetesConfig kubeConfig) {
+        this(kubeConfig, null);
+    }
+
+    /**
+     * Creates a client running on the event loops of the given Vert.x instance, e.g. the one of the host application,
+     * instead of a dedicated one.
+     *
+     * @param kubeConfig the configuration of the client
+     * @param vertx the Vert.x instance to use, <code>null</code> for the dedicated one
+     */
+    public KubernetesClientV1Impl(KubernetesConfig kubeConfig, Vertx vertx) {
         this.config = kubeConfig;
+        this.vertx = vertx;
     }
 
+    /** @noinspection unchecked*/
     @Override
     public Maybe<Watchable> create(Watchable item) {
-        try {
-            String uri = "";
-            if (item instanceof ConfigMap configMap) {
-                uri = String.format("/api/v1/namespaces/%s/configmaps", configMap.getMetadata().getNamespace());
-            } else if (item instanceof Secret secret) {
-                uri = String.format("/api/v1/namespaces/%s/secrets", secret.getMetadata().getNamespace());
-            }
+        return Maybe.defer(() -> {
+            Type type = Type.from(item.getClass());
+            String uri = String.format("%s/namespaces/%s/%s", type.apiBase(), item.metaData().getNamespace(), type.value());
 
             log.debug("Create resource with uri [{}]", uri);
+            return write(HttpMethod.POST, uri, MediaType.APPLICATION_JSON, toBuffer(item), (Class<Watchable>) item.getClass());
+        });
+    }
+
+    /** @noinspection unchecked*/
+    @Override
+    public <T extends Watchable> Maybe<T> update(T item) {
+        return Maybe.defer(() -> {
+            String uri = resourceUri(item);
 
-            RequestOptions requestOptions = getHTTPRequestOptions(HttpMethod.POST, uri);
+            log.debug("Update resource with uri [{}]", uri);
+            return write(HttpMethod.PUT, uri, MediaType.APPLICATION_JSON, toBuffer(item), (Class<T>) item.getClass());
+        });
+    }
 
-            ObjectMapper objectMapper = new ObjectMapper();
-            byte[] body = objectMapper.writeValueAsBytes(item);
-            return httpClient()
-                .rxRequest(requestOptions)
-                .flatMap(httpClientRequest -> httpClientRequest.rxSend(io.vertx.core.buffer.Buffer.buffer(body)))
-                .toMaybe()
-                .flatMap(response -> {
-                    if (
-                        response.statusCode() == HttpStatusCode.OK_200 ||
-                        response.statusCode() == HttpStatusCode.CREATED_201 ||
-                        response.statusCode() == HttpStatusCode.ACCEPTED_202
-                    ) {
-                        return response
-                            .rxBody()
-                            .toMaybe()
-                            .flatMap(buffer -> {
-                                JsonObject object = buffer.toJsonObject();
-                                Watchable resource = object.mapTo(item.getClass());
-                                if (resource != null) {
-                                    return Maybe.just(resource);
-                                } else {
-                                    return Maybe.empty();
-                                }
-                            });
-                    } else {
-                        return Maybe.error(
-                            new RuntimeException(String.format("Unable to create resource in. Error code [%d]", response.statusCode()))
-                        );
-                    }
-                });
-        } catch (Exception e) {
-            return Maybe.error(new RuntimeException(String.format("Unable to create resource in. %s", e.getMessage())));
+    /** @noinspection unchecked*/
+    @Override
+    public <T extends Watchable> Maybe<T> patch(T original, T modified) {
+        return Maybe.defer(() -> {
+            JsonObject patch = MergePatch.diff(toJson(original), toJson(modified));
+            if (patch.isEmpty()) {
+                return Maybe.just(modified);
+            }
+
+            String resourceVersion = original.metaData().getResourceVersion();
+            if (resourceVersion != null && !resourceVersion.isEmpty()) {
+                // The resource version makes the patch fail with a conflict if the resource changed since it was read.
+                JsonObject metadata = patch.getJsonObject("metadata");
+                if (metadata == null) {
+                    metadata = new JsonObject();
+                    patch.put("metadata", metadata);
+                }
+                metadata.put("resourceVersion", resourceVersion);
+            }
+
+            String uri = resourceUri(modified);
+            log.debug("Patch resource with uri [{}]", uri);
+            return write(HttpMethod.PATCH, uri, PatchType.JSON_MERGE.contentType(), patch.toBuffer(), (Class<T>) modified.getClass());
+        });
+    }
+
+    @Override
+    public <T> Maybe<T> patch(ResourceQuery<T> query, PatchType patchType, JsonObject patch) {
+        if (query.getResource() == null || query.getResource().isEmpty()) {
+            return Maybe.error(new IllegalArgumentException("Only a single resource can be patched"));
+        }
+        if (patchType == PatchType.APPLY) {
+            return Maybe.error(new IllegalArgumentException("Server-side apply needs a field manager, use apply instead"));
         }
+
+        String uri = query.toUri();
+        log.debug("Patch resource with uri [{}]", uri);
+        return write(HttpMethod.PATCH, uri, patchType.contentType(), patch.toBuffer(), query.getType());
+    }
+
+    /** @noinspection unchecked*/
+    @Override
+    public <T extends Watchable> Maybe<T> apply(T item, String fieldManager, boolean force) {
+        return Maybe.defer(() -> {
+            Objects.requireNonNull(fieldManager, "Field manager can not be null");
+            Type type = Type.from(item.getClass());
+
+            // Apply configurations must be fully qualified, whatever the model holds.
+            JsonObject configuration = toJson(item).put("apiVersion", type.apiVersion()).put("kind", type.kind());
+            String uri = resourceUri(item) + "?fieldManager=" + URLEncoder.encode(fieldManager, StandardCharsets.UTF_8);
+            if (force) {
+                uri += "&force=true";
+            }
+
+            log.debug("Apply resource with uri [{}]", uri);
+            return write(HttpMethod.PATCH, uri, PatchType.APPLY.contentType(), configuration.toBuffer(), (Class<T>) item.getClass());
+        });
     }
 
+    private <T> Maybe<T> write(HttpMethod method, String uri, String contentType, Buffer body, Class<T> type) {
+        RequestOptions requestOptions = getHTTPRequestOptions(method, uri);
+        requestOptions.addHeader(HttpHeaders.CONTENT_TYPE, contentType);
+
+        return request(requestOptions)
+            .flatMap(httpClientRequest -> httpClientRequest.rxSend(body))
+            .toMaybe()
+            .flatMap(response -> {
+                if (
+                    response.statusCode() == HttpStatusCode.OK_200 ||
+                    response.statusCode() == HttpStatusCode.CREATED_201 ||
+                    response.statusCode() == HttpStatusCode.ACCEPTED_202
+                ) {
+                    return response
+                        .rxBody()
+                        .toMaybe()
+                        .flatMap(buffer -> {
+                            // A memoized get, of the resource or of its metadata only, would otherwise return the previous version.
+                            final String path = uri.contains("?") ? uri.substring(0, uri.indexOf('?')) : uri;
+                            singleFlight().forget(path);
+                            singleFlight().forget(path + "#metadata");
+                            T resource = buffer.toJsonObject().mapTo(type);
+                            return resource != null ? Maybe.just(resource) : Maybe.empty();
+                        });
+                }
+
+                if (response.statusCode() == HttpStatusCode.NOT_FOUND_404) {
+                    return Maybe.error(new ResourceNotFoundException("Can't find resource at " + uri));
+                }
+
+                if (response.statusCode() == HttpStatusCode.CONFLICT_409) {
+                    return Maybe.error(new ResourceConflictException("Conflict while writing resource at " + uri));
+                }
+
+                return Maybe.error(
+                    new RuntimeException(String.format("Unable to write resource at [%s]. Error code [%d]", uri, response.statusCode()))
+                );
+            });
+    }
+
+    private static String resourceUri(Watchable item) {
+        Type type = Type.from(item.getClass());
+        ObjectMeta metadata = item.metaData();
+        return String.format("%s/namespaces/%s/%s/%s", type.apiBase(), metadata.getNamespace(), type.value(), metadata.getName());
+    }
+
+    private static Buffer toBuffer(Watchable item) throws JsonProcessingException {
+        return Buffer.buffer(WRITE_MAPPER.writeValueAsBytes(item));
+    }
+
+    /** @noinspection unchecked*/
+    private static JsonObject toJson(Watchable item) {
+        return new JsonObject(WRITE_MAPPER.convertValue(item, Map.class));
+    }
+
+    /** @noinspection unchecked*/
     @Override
     public <T> Maybe<T> get(ResourceQuery<T> query) {
         String uri = query.toUri();
+
+        Informer<?> informer = informerServing(query);
+        if (informer != null) {
+            Watchable item = informer.store().get(query.getNamespace(), query.getResource());
+            return item != null ? Maybe.just((T) item) : Maybe.error(new ResourceNotFoundException("Can't find resource at " + uri));
+        }
+
+        // Concurrent gets of the same resource share one request, each caller decoding its own resource from the response.
+        // Only single resources are memoized: a list (e.g. a relist after a 410) or a versioned get must not be older than the call.
+        return singleFlight()
+            .execute(query.isMetadataOnly() ? uri + "#metadata" : uri, () -> fetch(query, uri), memoizable(query))
+            .mapOptional(body -> Optional.ofNullable(decode(query, body)));
+    }
+
+    private static boolean memoizable(ResourceQuery<?> query) {
+        return (
+            query.getResource() != null &&
+            !query.getResource().isEmpty() &&
+            (query.getResourceVersion() == null || query.getResourceVersion().isEmpty()) &&
+            query.getContinueToken() == null
+        );
+    }
+
+    private Maybe<ResponseBody> fetch(ResourceQuery<?> query, String uri) {
         log.debug("Retrieve resource from [{}]", uri);
 
-        RequestOptions requestOptions = getHTTPRequestOptions(HttpMethod.GET, uri);
-        return httpClient()
-            .rxRequest(requestOptions)
+        RequestOptions requestOptions = getHTTPRequestOptions(HttpMethod.GET, uri, accept(query));
+        final String collection = query.getResource() == null || query.getResource().isEmpty() ? query.collection().toUri() : null;
+        if (collection != null && compressList(collection)) {
+            requestOptions.addHeader(HttpHeaders.ACCEPT_ENCODING, GZIP);
+        }
+
+        return request(requestOptions)
             .flatMap(HttpClientRequest::rxSend)
             .toMaybe()
             .flatMap(response -> {
@@ -166,110 +345,305 @@ public class KubernetesClientV1Impl implements KubernetesClient {
                         )
                     );
                 } else {
-                    return response
-                        .rxBody()
-                        .toMaybe()
-                        .flatMap(buffer -> {
-                            JsonObject item = buffer.toJsonObject();
-                            T resource = item.mapTo(query.getType());
-                            if (resource != null) {
-                                return Maybe.just(resource);
-                            } else {
-                                return Maybe.empty();
-                            }
-                        });
+                    final boolean protobuf = ProtobufDecoder.isProtobuf(response.getHeader(HttpHeaders.CONTENT_TYPE));
+                    final String contentEncoding = response.getHeader(HttpHeaders.CONTENT_ENCODING);
+                    return offload(response.rxBody().toMaybe()).map(body ->
+                        new ResponseBody(collection != null ? inflate(collection, contentEncoding, body) : body, protobuf)
+                    );
                 }
             });
     }
 
+    private static <T> T decode(ResourceQuery<T> query, ResponseBody body) {
+        return body.protobuf()
+            ? ProtobufDecoder.decode(body.buffer().getBytes(), query.getType())
+            : body.buffer().toJsonObject().mapTo(query.getType());
+    }
+
+    @Override
+    public Maybe<ByteBuffer> getValue(ResourceQuery<?> query) {
+        if (query.getResource() == null || query.getResourceKey() == null) {
+            return Maybe.error(new IllegalArgumentException("Value queries must reference a key of a single resource"));
+        }
+        if (query.type() != Type.SECRETS && query.type() != Type.CONFIGMAPS) {
+            return Maybe.error(new IllegalArgumentException("Values can only be read from secrets and config maps"));
+        }
+
+        return get(query).mapOptional(resource -> Optional.ofNullable(decodedValues().get((Watchable) resource, query.getResourceKey())));
+    }
+
+    @Override
+    public Single<Map<ResourceQuery<?>, Object>> getAll(Collection<? extends ResourceQuery<?>> queries) {
+        for (ResourceQuery<?> query : queries) {
+            if (!identifiedByResource(query)) {
+                // Results are keyed by query, which would not tell such queries apart.
+                return Single.error(
+                    new IllegalArgumentException("Queries with selectors, a resource version or a page cannot be batched: " + query.toUri())
+                );
+            }
+        }
+
+        final Map<String, List<ResourceQuery<?>>> groups = new LinkedHashMap<>();
+        final List<ResourceQuery<?>> gets = new ArrayList<>();
+        final int listThreshold = kubeConfig().getBatchListThreshold();
+
+        for (ResourceQuery<?> query : new LinkedHashSet<>(queries)) {
+            if (batchable(query)) {
+                groups.computeIfAbsent(query.type().name() + '/' + query.getNamespace(), k -> new ArrayList<>()).add(query);
+            } else {
+                gets.add(query);
+            }
+        }
+
+        final List<Flowable<Map.Entry<ResourceQuery<?>, Object>>> sources = new ArrayList<>();
+        for (List<ResourceQuery<?>> group : groups.values()) {
+            if (listThreshold > 0 && group.size() >= listThreshold) {
+                sources.add(listGroup(group));
+            } else {
+                gets.addAll(group);
+            }
+        }
+        sources.add(getEach(gets));
+
+        return Flowable.merge(sources).collect(LinkedHashMap::new, (results, entry) -> results.put(entry.getKey(), entry.getValue()));
+    }
+
+    private static boolean identifiedByResource(ResourceQuery<?> query) {
+        return (
+            query.getFieldSelectors().isEmpty() &&
+            query.getLabelSelectors().isEmpty() &&
+            (query.getResourceVersion() == null || query.getResourceVersion().isEmpty()) &&
+            query.getLimit() == null &&
+            query.getContinueToken() == null
+        );
+    }
+
+    private static boolean batchable(ResourceQuery<?> query) {
+        return query.getResource() != null && !query.getResource().isEmpty() && !query.getResource().contains("*");
+    }
+
+    /**
+     * Resolves queries on resources of the same type and namespace with one (paginated) list of their collection.
+     */
+    private Flowable<Map.Entry<ResourceQuery<?>, Object>> listGroup(List<ResourceQuery<?>> group) {
+        final Map<String, List<ResourceQuery<?>>> byName = new HashMap<>();
+        group.forEach(query -> byName.computeIfAbsent(query.getResource(), k -> new ArrayList<>()).add(query));
+
+        final ResourceQuery<WatchableList<Watchable>> listQuery = group.get(0).collection();
+        log.debug("Resolve {} resources with a list from [{}]", group.size(), listQuery.toUri());
+
+        return Flowable.defer(() -> {
+            final Set<ResourceQuery<?>> resolved = new HashSet<>();
+            return list(listQuery)
+                .concatMapIterable(item -> {
+                    List<ResourceQuery<?>> selected = byName.getOrDefault(item.metaData().getName(), List.of());
+                    List<Map.Entry<ResourceQuery<?>, Object>> entries = new ArrayList<>(selected.size());
+                    selected.forEach(query -> entries.add(entry(query, item)));
+                    resolved.addAll(selected);
+                    return entries;
+                })
+                .onErrorResumeNext(throwable -> {
+                    // e.g. the list is not allowed while gets are, only the queries not resolved by the pages already listed are left.
+                    log.debug("Unable to list from [{}], falling back to gets", listQuery.toUri(), throwable);
+                    final List<ResourceQuery<?>> unresolved = new ArrayList<>(group);
+                    unresolved.removeAll(resolved);
+                    return getEach(unresolved);
+                });
+        });
+    }
+
+    private Flowable<Map.Entry<ResourceQuery<?>, Object>> getEach(List<ResourceQuery<?>> queries) {
+        return Flowable.fromIterable(queries).flatMapMaybe(
+            query -> get(query).map(value -> entry(query, value)).onErrorComplete(ResourceNotFoundException.class::isInstance),
+            false,
+            kubeConfig().getBatchGetConcurrency()
+        );
+    }
+
+    private static Map.Entry<ResourceQuery<?>, Object> entry(ResourceQuery<?> query, Object value) {
+        return new AbstractMap.SimpleImmutableEntry<>(query, value);
+    }
+
+    @Override
+    public <T extends Watchable> Flowable<T> list(ResourceQuery<? extends WatchableList<T>> query) {
+        if (query.getResource() != null && !query.getResource().isEmpty()) {
+            return Flowable.error(new IllegalArgumentException("Only collections can be listed, got a query on " + query.toUri()));
+        }
+
+        Integer limit = query.getLimit() != null ? query.getLimit() : kubeConfig().getListPageSize();
+        return listPage(query, limit, query.getContinueToken());
+    }
+
+    private <T extends Watchable> Flowable<T> listPage(
+        ResourceQuery<? extends WatchableList<T>> query,
+        Integer limit,
+        String continueToken
+    ) {
+        return get(query.withPage(limit, continueToken)).flatMapPublisher(page -> {
+            String next = page.getMetadata() != null ? page.getMetadata().getContinue() : null;
+            Flowable<T> items = Flowable.fromIterable(page.getItems());
+
+            if (next == null || next.isEmpty()) {
+                return items;
+            }
+
+            return items.concatWith(Flowable.defer(() -> listPage(query, limit, next)));
+        });
+    }
+
     /** @noinspection unchecked*/
     @Override
     public <E extends Event<? extends Watchable>> Flowable<E> watch(WatchQuery<E> query) {
-        String uri = query.toUri();
-        String watchKey = "watch" + WATCH_KEY_SEPARATOR + uri.hashCode();
+        final Flowable<E> events = multiplexable(query) ? multiplex(query) : subscribe(sharedWatch(query), query);
 
-        final Watch<E> watch = watchMap.computeIfAbsent(watchKey, s -> {
-            final Watch<E> w = watchEvents(watchKey, uri, query);
-            w.setEvents(w.events.doFinally(() -> watchMap.remove(watchKey)));
-            return w;
-        });
+        if (query.getResource() != null && query.getResource().contains("*")) {
+            final Predicate<String> matcher = wildcardMatcher.compile(query.getResource());
+            return events.filter(e -> bookmark(e) || matcher.test(e.getObject().metaData().getName()));
+        }
+
+        return events;
+    }
+
+    private static boolean bookmark(Event<?> event) {
+        return KubernetesEventType.BOOKMARK.name().equals(event.getType());
+    }
+
+    private <E extends Event<? extends Watchable>> Watch<E> sharedWatch(WatchQuery<E> query) {
+        String watchKey = "watch" + WATCH_KEY_SEPARATOR + query.watchKey();
+
+        return watchMap.computeIfAbsent(watchKey, s -> watchEvents(watchKey, query.toUri(), query));
+    }
+
+    private boolean multiplexable(WatchQuery<?> query) {
+        return (
+            kubeConfig().isWatchMultiplexing() &&
+            !query.isEmitBookmarks() &&
+            (query.getResourceVersion() == null || query.getResourceVersion().isEmpty()) &&
+            (!query.getFieldSelectors().isEmpty() || !query.getLabelSelectors().isEmpty()) &&
+            query.isClientSideSelectable()
+        );
+    }
+
+    /**
+     * Watches the whole collection of the query type and namespace, shared with any other compatible query, and only
+     * emits the events of the resources selected by the query.
+     * A resource that is no longer selected (e.g. its labels changed) is notified as <code>DELETED</code>, as the API
+     * server does for a watch with selectors.
+     *
+     * @noinspection unchecked
+     */
+    private <E extends Event<? extends Watchable>> Flowable<E> multiplex(WatchQuery<E> query) {
+        final WatchQuery<E> upstream = query.withoutSelectors();
+        log.debug("Multiplexing watch on [{}] over [{}]", query.toUri(), upstream.toUri());
+
+        return Flowable.defer(() -> {
+            // Resources currently selected for this subscriber.
+            final Set<String> selected = new HashSet<>();
 
-        final String wildcardResource = query.getResource() != null && query.getResource().contains("*") ? query.getResource() : null;
+            return subscribe(sharedWatch(upstream), query).mapOptional(e -> {
+                ObjectMeta metadata = e.getObject().metaData();
+                String key = metadata.getNamespace() + '/' + metadata.getName();
+                boolean deleted = KubernetesEventType.DELETED.name().equals(e.getType());
 
-        if (wildcardResource != null) {
-            return watch.events.filter(e -> {
-                final String regex = "\\Q" + wildcardResource.replace("*", "\\E.*\\Q") + "\\E";
-                final Pattern pattern = patternCache.computeIfAbsent(regex, k -> Pattern.compile(regex));
-                return pattern.matcher(e.getObject().metaData().getName()).find();
+                if (query.selects(metadata)) {
+                    if (deleted) {
+                        selected.remove(key);
+                    } else {
+                        selected.add(key);
+                    }
+                    return Optional.of(e);
+                }
+
+                if (selected.remove(key) && !deleted) {
+                    return Optional.of(Events.newEvent((Class<E>) query.getEventType(), KubernetesEventType.DELETED.name(), e.getObject()));
+                }
+
+                return Optional.empty();
             });
+        });
+    }
+
+    /** @noinspection unchecked*/
+    @Override
+    public <T extends Watchable> Informer<T> informer(WatchQuery<Event<T>> query) {
+        return (Informer<T>) informers.compute(query.watchKey(), (key, existing) ->
+            existing != null && existing.isRunning() ? existing : new Informer<>(this, query, kubeConfig().getListPageSize()).start()
+        );
+    }
+
+    private Informer<?> informerServing(ResourceQuery<?> query) {
+        if (informers.isEmpty()) {
+            return null;
+        }
+
+        for (Informer<?> informer : informers.values()) {
+            if (informer.serves(query)) {
+                return informer;
+            }
         }
 
-        return watch.events;
+        return null;
     }
 
     private <E extends Event<? extends Watchable>> Watch<E> watchEvents(String watchKey, String uri, WatchQuery<E> query) {
         log.debug("Start watching resources from [{}]", uri);
 
-        final Watch<E> watch = new Watch<>(watchKey);
-        final WebSocketConnectOptions webSocketConnectOptions = buildWebSocketConnectOptions(uri);
+        final Watch<E> watch = new Watch<>(
+            watchKey,
+            query,
+            kubeConfig().getWatchResourceVersionCacheMaxSize(),
+            kubeConfig().getWatchSnapshotMaxSize(),
+            kubeConfig().isProtobuf()
+        );
 
-        final Flowable<E> events = webSocketClient()
-            .rxConnect(webSocketConnectOptions)
-            .flatMapPublisher(websocket -> {
-                Flowable<E> pingFlowable = websocketPing(websocket);
-                return pingFlowable.compose(
-                    mergeWithFirst(
-                        websocket
-                            .toFlowable()
-                            .map(response -> {
-                                E e = response.toJsonObject().mapTo((Class<E>) query.getEventType());
-                                if ("ERROR".equals(e.getType())) {
-                                    Error error = response.toJsonObject().mapTo(Error.class);
-                                    if (error.getObject() != null && error.getObject().getCode() == 410) {
-                                        throw new ResourceVersionNotFoundException(query.getResourceVersion());
-                                    } else {
-                                        throw new RuntimeException(e.toString());
-                                    }
-                                }
-                                return e;
-                            })
-                            .filter(e -> {
-                                ObjectMeta md = e.getObject().metaData();
-                                String key = String.format("%s/%s", md.getNamespace(), md.getName());
-
-                                if (
-                                    !watch.resourceVersionCache.containsKey(key) ||
-                                    Long.parseLong(watch.resourceVersionCache.get(key)) < Long.parseLong(md.getResourceVersion())
-                                ) {
-                                    watch.resourceVersionCache.put(key, md.getResourceVersion());
-                                    return true;
-                                }
-
-                                return false;
-                            })
-                    )
-                );
-            })
+        final Flowable<E> events = Flowable.defer(() -> {
+            final Flowable<E> watched = connect(query, watch)
+                .filter(e -> watch.resourceVersionCache.update(e.getType(), e.getObject().metaData()))
+                .doOnNext(watch::apply);
+            if (query.isListThenWatch() && watch.resourceVersion == null) {
+                return listEvents(query, watch).concatWith(watched);
+            }
+            return watched;
+        })
+            .doOnNext(this::releaseDecodedValues)
             .doOnError(throwable -> log.debug("An error occurred watching from [{}]", uri, throwable))
             .retryWhen(errors ->
                 errors.flatMap(error -> {
                     if (
-                        error instanceof UpgradeRejectedException upgradeRejectedException &&
-                        upgradeRejectedException.getStatus() == 401 &&
+                        unauthorized(error) &&
                         kubeConfig().getAccessToken() != null &&
                         !kubeConfig().getAccessToken().isBlank()
                     ) {
+                        // Connection options are rebuilt on each attempt and will carry the refreshed token.
                         log.debug("Refreshing Service Account authorization token...");
-                        webSocketConnectOptions.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + kubeConfig().getAccessToken());
-                        return Flowable.empty();
+                        return reconnect(watch, false);
+                    }
+                    if (error instanceof ResourceVersionNotFoundException && query.isListThenWatch()) {
+                        log.debug("Resource version [{}] is gone for [{}], relisting", watch.resourceVersion, uri);
+                        watch.resourceVersion = null;
+                        return reconnect(watch, false);
+                    }
+                    if (error instanceof ResourceVersionNotFoundException && watch.resumedFromBookmark()) {
+                        // The watch only resumed to not miss events, watching from now is what it did before bookmarks.
+                        log.debug("Bookmarked resource version [{}] is gone for [{}], watching from now", watch.resourceVersion, uri);
+                        watch.resourceVersion = null;
+                        return reconnect(watch, false);
+                    }
+                    if (transientFailure(error, watch) && !reconnectsExhausted(watch)) {
+                        log.debug("API server unavailable for [{}], reconnecting", uri);
+                        return reconnect(watch, true);
                     }
                     return Flowable.error(error);
                 })
             )
             .doOnTerminate(() -> log.debug("reconnecting due to websocket termination at [{}]", uri))
-            .repeatWhen(p -> p.delay(DISCONNECT_REPEAT_AFTER_MILLIS, TimeUnit.MILLISECONDS))
-            // Watch events are shared across subscribers (e.g., only one websocket watching for the same uri), we need to replay items for late subscribers.
-            .replay(LATE_SUBSCRIBER_REPLAY_DELAY_SECONDS, TimeUnit.SECONDS)
+            .repeatWhen(completions -> completions.concatMap(completion -> reconnect(watch, false)))
+            .doFinally(() -> {
+                watch.clear();
+                watchMap.remove(watchKey, watch);
+            })
+            // Watch events are shared across subscribers (e.g., only one websocket watching for the same uri).
+            .publish()
             .refCount();
 
         watch.setEvents(events);
@@ -277,6 +651,183 @@ public class KubernetesClientV1Impl implements KubernetesClient {
         return watch;
     }
 
+    /**
+     * Late subscribers first receive the current objects of the watch as <code>ADDED</code> events, then the live events.
+     * They subscribe to the live events before the snapshot is taken so that no event falls in between, an event already
+     * in the snapshot being skipped when it is then received live. A watch with more objects than the snapshot max size keeps
+     * none of them, its late subscribers only receiving the live events.
+     * Live events are buffered for each subscriber, bounded as configured by the query of the subscriber or the client, and
+     * conflated if the query of the subscriber says so.
+     *
+     * @noinspection unchecked
+     */
+    private <E extends Event<? extends Watchable>> Flowable<E> subscribe(Watch<E> watch, WatchQuery<?> query) {
+        final Flowable<E> live = watch.events;
+        return Flowable.defer(() -> {
+            final boolean own = query.getOverflowPolicy() != null;
+            final SubscriberBuffer<E> buffer = new SubscriberBuffer<>(
+                own ? query.getBufferSize() : kubeConfig().getWatchBufferSize(),
+                own ? query.getOverflowPolicy() : kubeConfig().getWatchOverflowPolicy(),
+                query.getConflationWindow(),
+                Schedulers.computation(),
+                metrics
+            );
+            final Disposable connection = live.subscribe(buffer::offer, buffer::onError, buffer::onComplete);
+            final List<Watchable> snapshot = watch.snapshot();
+            if (snapshot.isEmpty()) {
+                return buffer.flowable().doFinally(connection::dispose);
+            }
+
+            final Map<String, String> versions = new HashMap<>(snapshot.size());
+            snapshot.forEach(object -> versions.put(ResourceStore.key(object.metaData()), object.metaData().getResourceVersion()));
+            final Class<E> eventType = (Class<E>) watch.query.getEventType();
+
+            return Flowable.fromIterable(snapshot)
+                .map(object -> Events.newEvent(eventType, KubernetesEventType.ADDED.name(), object))
+                .concatWith(
+                    buffer
+                        .flowable()
+                        .filter(e -> {
+                            if (versions.isEmpty()) {
+                                return true;
+                            }
+                            ObjectMeta metadata = e.getObject().metaData();
+                            String resourceVersion = versions.remove(ResourceStore.key(metadata));
+                            return resourceVersion == null || !resourceVersion.equals(metadata.getResourceVersion());
+                        })
+                )
+                .doFinally(connection::dispose);
+        });
+    }
+
+    /**
+     * Lists the resources to watch from, the list replacing the known objects of the watch: only the resources added or
+     * modified since they were last seen are emitted, and those missing from the list are emitted as deleted.
+     *
+     * @noinspection unchecked
+     */
+    private <E extends Event<? extends Watchable>> Flowable<E> listEvents(WatchQuery<E> query, Watch<E> watch) {
+        ResourceQuery<WatchableList<Watchable>> listQuery = ResourceQuery.<WatchableList<Watchable>>from(query).build();
+        log.debug("List resources from [{}] before watching", listQuery.toUri());
+
+        return get(listQuery).flatMapPublisher(list -> {
+            if (list.getMetadata() != null) {
+                watch.resourceVersion = list.getMetadata().getResourceVersion();
+            }
+            return Flowable.fromIterable(watch.relist(list.getItems()));
+        });
+    }
+
+    private <E extends Event<? extends Watchable>> Flowable<E> connect(WatchQuery<E> query, Watch<E> watch) {
+        return Flowable.defer(() -> {
+            final String uri = watch.uri();
+            final boolean stream = kubeConfig().isHttp2() && !http1Negotiated;
+            final Flowable<Buffer> frames = stream ? streamFrames(uri, watch) : websocketFrames(uri, watch);
+            return offload(frames).mapOptional(frame -> {
+                E e;
+                try {
+                    e = watch.decode(frame);
+                } catch (WatchEventDecoder.ErrorEventException error) {
+                    if (error.code() == 410) {
+                        throw new ResourceVersionNotFoundException(watch.resourceVersion);
+                    }
+                    throw error;
+                }
+                watch.resourceVersion = e.getObject().metaData().getResourceVersion();
+                // Bookmarks only move the resume point forward, they carry no resource.
+                return bookmark(e) && !query.isEmitBookmarks() ? Optional.empty() : Optional.of(e);
+            });
+        });
+    }
+
+    private Flowable<Buffer> websocketFrames(String uri, Watch<?> watch) {
+        return webSocketClient()
+            .rxConnect(buildWebSocketConnectOptions(uri, watch.accept(false)))
+            .doOnSuccess(websocket -> connected(watch))
+            .flatMapPublisher(websocket -> {
+                Flowable<Buffer> pingFlowable = websocketPing(websocket);
+                return pingFlowable.compose(mergeWithFirst(websocket.toFlowable()));
+            });
+    }
+
+    /**
+     * Watches as a streaming GET, the API server sending one event per line (or length-prefixed protobuf events). With
+     * HTTP/2, each watch is a stream multiplexed with the other requests over the pooled connections instead of a
+     * dedicated websocket.
+     * When HTTP/1.1 is negotiated instead (e.g. behind a proxy), watches fall back to websockets, a streaming GET holding
+     * a pooled connection for as long as it watches.
+     */
+    private Flowable<Buffer> streamFrames(String uri, Watch<?> watch) {
+        return request(getHTTPRequestOptions(HttpMethod.GET, uri, watch.accept(true)))
+            .flatMapPublisher(request -> {
+                if (request.version() != HttpVersion.HTTP_2) {
+                    if (!http1Negotiated) {
+                        http1Negotiated = true;
+                        log.warn("HTTP/2 was not negotiated with the API server, watching over websockets");
+                    }
+                    request.reset();
+                    return websocketFrames(uri, watch);
+                }
+                return request.rxSend().flatMapPublisher(response -> responseFrames(uri, watch, response));
+            });
+    }
+
+    private Flowable<Buffer> responseFrames(String uri, Watch<?> watch, HttpClientResponse response) {
+        if (response.statusCode() == 410) {
+            return Flowable.error(new ResourceVersionNotFoundException(watch.resourceVersion));
+        }
+        if (response.statusCode() != 200) {
+            return Flowable.error(new WatchRejectedException(uri, response.statusCode()));
+        }
+        connected(watch);
+        metrics.watchStreamed();
+        if (ProtobufDecoder.isProtobuf(response.getHeader(HttpHeaders.CONTENT_TYPE))) {
+            final LengthDelimitedFramer framer = new LengthDelimitedFramer();
+            return response.toFlowable().concatMapIterable(framer::frames);
+        }
+        return RecordParser.newDelimited(WATCH_FRAME_DELIMITER, response).toFlowable().filter(frame -> frame.length() > 0);
+    }
+
+    /**
+     * Resets the backoff of the watch and closes the circuit, once connected rather than on each frame so that a quiet watch
+     * reconnecting cleanly does not back off.
+     */
+    private void connected(Watch<?> watch) {
+        watch.everConnected = true;
+        watch.reconnectAttempts = 0;
+        reconnectScheduler().connected();
+    }
+
+    /**
+     * @return <code>true</code> for the failures of an overloaded API server, or of a watch that already connected once, worth
+     * reconnecting after (e.g. the API server restarting). Failing to connect the first time is still reported to the
+     * subscribers, the API server being unreachable.
+     */
+    private static boolean transientFailure(Throwable error, Watch<?> watch) {
+        int status = 0;
+        if (error instanceof UpgradeRejectedException upgradeRejectedException) {
+            status = upgradeRejectedException.getStatus();
+        } else if (error instanceof WatchRejectedException watchRejectedException) {
+            status = watchRejectedException.status;
+        }
+        if (status == 429 || status >= 500) {
+            return true;
+        }
+        return watch.everConnected && (error instanceof IOException || error instanceof HttpClosedException);
+    }
+
+    private boolean reconnectsExhausted(Watch<?> watch) {
+        final int maxAttempts = kubeConfig().getWatchReconnectMaxAttempts();
+        return maxAttempts > 0 && watch.reconnectAttempts >= maxAttempts;
+    }
+
+    private static boolean unauthorized(Throwable error) {
+        return (
+            (error instanceof UpgradeRejectedException upgradeRejectedException && upgradeRejectedException.getStatus() == 401) ||
+            (error instanceof WatchRejectedException watchRejectedException && watchRejectedException.status == 401)
+        );
+    }
+
     private <E> Flowable<E> websocketPing(io.vertx.rxjava3.core.http.WebSocket webSocket) {
         return Flowable.interval(PING_HANDLER_DELAY, TimeUnit.MILLISECONDS)
             .timestamp()
@@ -293,24 +844,90 @@ public class KubernetesClientV1Impl implements KubernetesClient {
                 .dematerialize(n -> n);
     }
 
+    /**
+     * Gets a request from the pool, tracking the wait for a connection and its use until the response has been read.
+     */
+    private Single<HttpClientRequest> request(RequestOptions requestOptions) {
+        return Single.defer(() -> {
+            final long queuedAt = metrics.enqueue();
+            return httpClient()
+                .rxRequest(requestOptions)
+                .doOnSuccess(request -> {
+                    metrics.acquired(queuedAt);
+                    request
+                        .getDelegate()
+                        .response()
+                        .compose(io.vertx.core.http.HttpClientResponse::end)
+                        .onComplete(ar -> metrics.released());
+                })
+                .doOnError(throwable -> metrics.rejected())
+                .doOnDispose(metrics::rejected);
+        });
+    }
+
+    @Override
+    public KubernetesClientMetrics metrics() {
+        return metrics;
+    }
+
+    /**
+     * Lists are asked compressed unless the last list of the collection was below the threshold: the API server only
+     * compresses large responses, and compressing small ones costs more than it saves.
+     */
+    private boolean compressList(String collection) {
+        return kubeConfig().isListCompression() && largeCollections.getOrDefault(collection, true);
+    }
+
+    private Buffer inflate(String collection, String contentEncoding, Buffer body) throws IOException {
+        Buffer decoded = body;
+        if (GZIP.equalsIgnoreCase(contentEncoding)) {
+            try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body.getBytes()))) {
+                decoded = Buffer.buffer(in.readAllBytes());
+            }
+            metrics.compressed(body.length(), decoded.length());
+        } else {
+            metrics.uncompressed(body.length());
+        }
+
+        if (kubeConfig().isListCompression()) {
+            largeCollections.put(collection, decoded.length() >= kubeConfig().getListCompressionThreshold());
+        }
+        return decoded;
+    }
+
     private RequestOptions getHTTPRequestOptions(HttpMethod post, String uri) {
+        return getHTTPRequestOptions(post, uri, MediaType.APPLICATION_JSON);
+    }
+
+    private RequestOptions getHTTPRequestOptions(HttpMethod post, String uri, String accept) {
         RequestOptions requestOptions = new RequestOptions();
         requestOptions.setMethod(post);
         requestOptions.setURI(uri);
-        requestOptions.addHeader(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON);
+        requestOptions.addHeader(HttpHeaders.ACCEPT, accept);
         if (kubeConfig().getAccessToken() != null && !kubeConfig().getAccessToken().isBlank()) {
             requestOptions.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + kubeConfig().getAccessToken());
         }
         return requestOptions;
     }
 
-    private WebSocketConnectOptions buildWebSocketConnectOptions(String uri) {
+    /**
+     * Asks for the metadata only for metadata queries, or for protobuf when enabled and supported for the type, the API
+     * server answering with full JSON objects otherwise.
+     */
+    private String accept(ResourceQuery<?> query) {
+        if (query.isMetadataOnly()) {
+            return query.getResource() == null || query.getResource().isEmpty() ? METADATA_LIST_ACCEPT : METADATA_ACCEPT;
+        }
+        return kubeConfig().isProtobuf() && ProtobufDecoder.supports(query.getType()) ? PROTOBUF_ACCEPT : MediaType.APPLICATION_JSON;
+    }
+
+    private WebSocketConnectOptions buildWebSocketConnectOptions(String uri, String accept) {
         WebSocketConnectOptions options = new WebSocketConnectOptions()
             .setURI(uri)
             .setHost(kubeConfig().getApiServerHost())
             .setPort(kubeConfig().getApiServerPort())
             .setSsl(kubeConfig().useSSL())
-            .addHeader(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON);
+            .addHeader(HttpHeaders.ACCEPT, accept);
         if (kubeConfig().getAccessToken() != null && !kubeConfig().getAccessToken().isBlank()) {
             options.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + kubeConfig().getAccessToken());
         }
@@ -323,10 +940,32 @@ public class KubernetesClientV1Impl implements KubernetesClient {
 
     private HttpClientOptions httpClientOptions() {
         HttpClientOptions options = configureClientOptions(new HttpClientOptions());
-        return options
+        options
             .setVerifyHost(kubeConfig().verifyHost())
             .setDefaultHost(kubeConfig().getApiServerHost())
-            .setDefaultPort(kubeConfig().getApiServerPort());
+            .setDefaultPort(kubeConfig().getApiServerPort())
+            .setKeepAlive(kubeConfig().isKeepAlive())
+            .setKeepAliveTimeout(kubeConfig().getKeepAliveTimeout())
+            .setPipelining(kubeConfig().isPipelining())
+            .setPipeliningLimit(kubeConfig().getPipeliningLimit());
+
+        if (kubeConfig().isHttp2()) {
+            options
+                .setProtocolVersion(HttpVersion.HTTP_2)
+                .setUseAlpn(true)
+                .setHttp2MultiplexingLimit(kubeConfig().getHttp2MultiplexingLimit())
+                .setHttp2KeepAliveTimeout(kubeConfig().getHttp2KeepAliveTimeout());
+        }
+
+        return options;
+    }
+
+    private PoolOptions poolOptions() {
+        return new PoolOptions()
+            .setHttp1MaxSize(kubeConfig().getMaxPoolSize())
+            .setHttp2MaxSize(kubeConfig().getHttp2MaxPoolSize())
+            .setMaxWaitQueueSize(kubeConfig().getMaxWaitQueueSize())
+            .setCleanerPeriod(kubeConfig().getPoolCleanerPeriod());
     }
 
     private WebSocketClientOptions webSocketClientOptions() {
@@ -376,9 +1015,108 @@ public class KubernetesClientV1Impl implements KubernetesClient {
         return options;
     }
 
+    private Vertx vertx() {
+        return vertx != null ? vertx : defaultVertx(kubeConfig());
+    }
+
+    /**
+     * The dedicated instance is shared by all the clients of the JVM which are not given one, sized by the configuration of
+     * the first of them: the sizing of the others is ignored.
+     */
+    private static synchronized Vertx defaultVertx(KubernetesConfig config) {
+        if (defaultVertx == null) {
+            // Maintain only one dedicated instance of vertx, only created when a client is not given one.
+            VertxOptions options = new VertxOptions();
+            options.getMetricsOptions().setEnabled(false);
+            if (config.getEventLoopPoolSize() > 0) {
+                options.setEventLoopPoolSize(config.getEventLoopPoolSize());
+            }
+            if (config.getWorkerPoolSize() > 0) {
+                options.setWorkerPoolSize(config.getWorkerPoolSize());
+            }
+            defaultVertx = Vertx.vertx(options);
+            defaultEventLoopPoolSize = config.getEventLoopPoolSize();
+            defaultWorkerPoolSize = config.getWorkerPoolSize();
+        } else if (config.getEventLoopPoolSize() != defaultEventLoopPoolSize || config.getWorkerPoolSize() != defaultWorkerPoolSize) {
+            log.warn(
+                "The dedicated Vert.x instance already exists with {} event loop and {} worker threads (0 for the defaults), " +
+                "ignoring the {} and {} configured, give the client a Vert.x instance to size it",
+                defaultEventLoopPoolSize,
+                defaultWorkerPoolSize,
+                config.getEventLoopPoolSize(),
+                config.getWorkerPoolSize()
+            );
+        }
+        return defaultVertx;
+    }
+
+    /**
+     * Moves the decoding of responses and watch events off the event loop when <code>workerOffload</code> is enabled.
+     */
+    private <T> Maybe<T> offload(Maybe<T> source) {
+        return kubeConfig().isWorkerOffload() ? source.observeOn(workerScheduler()) : source;
+    }
+
+    private <T> Flowable<T> offload(Flowable<T> source) {
+        return kubeConfig().isWorkerOffload() ? source.observeOn(workerScheduler()) : source;
+    }
+
+    private synchronized ReconnectScheduler reconnectScheduler() {
+        if (reconnectScheduler == null) {
+            reconnectScheduler =
+                new ReconnectScheduler(
+                    kubeConfig().getWatchReconnectInitialDelay(),
+                    kubeConfig().getWatchReconnectMaxDelay(),
+                    kubeConfig().getWatchReconnectFailureThreshold(),
+                    kubeConfig().getWatchReconnectCircuitOpenDuration(),
+                    metrics
+                );
+        }
+        return reconnectScheduler;
+    }
+
+    private Flowable<Long> reconnect(Watch<?> watch, boolean failure) {
+        long delay = reconnectScheduler().nextDelay(watch.reconnectAttempts++, failure);
+        return Flowable.timer(delay, TimeUnit.MILLISECONDS);
+    }
+
+    private synchronized SingleFlight singleFlight() {
+        if (singleFlight == null) {
+            singleFlight = new SingleFlight(kubeConfig().getGetMemoizationTtl(), kubeConfig().getGetMemoizationMaxSize());
+        }
+        return singleFlight;
+    }
+
+    private void releaseDecodedValues(Event<? extends Watchable> event) {
+        // Nothing to release until a value has been read.
+        final DecodedValueCache values = decodedValues;
+        if (
+            values != null &&
+            (KubernetesEventType.MODIFIED.name().equals(event.getType()) || KubernetesEventType.DELETED.name().equals(event.getType())) &&
+            (event.getObject() instanceof Secret || event.getObject() instanceof ConfigMap)
+        ) {
+            values.release(event.getObject());
+        }
+    }
+
+    private synchronized DecodedValueCache decodedValues() {
+        if (decodedValues == null) {
+            decodedValues = new DecodedValueCache(kubeConfig().getDecodedValueCacheMaxSize(), kubeConfig().isDecodedValueOffHeap());
+        }
+        return decodedValues;
+    }
+
+    private synchronized Scheduler workerScheduler() {
+        if (workerScheduler == null) {
+            // Unordered to use the whole worker pool, observeOn still delivering the events of a watch in sequence.
+            workerScheduler = RxHelper.blockingScheduler(vertx(), false);
+        }
+        return workerScheduler;
+    }
+
     public synchronized HttpClient httpClient() {
         if (this.httpClient == null) {
-            this.httpClient = VERTX.createHttpClient(httpClientOptions());
+            this.httpClient = vertx().createHttpClient(httpClientOptions(), poolOptions());
         }
 
         return httpClient;
@@ -386,25 +1124,178 @@ public class KubernetesClientV1Impl implements KubernetesClient {
 
     public synchronized io.vertx.rxjava3.core.http.WebSocketClient webSocketClient() {
         if (webSocketClient == null) {
-            this.webSocketClient = VERTX.createWebSocketClient(webSocketClientOptions());
+            this.webSocketClient = vertx().createWebSocketClient(webSocketClientOptions());
         }
 
         return webSocketClient;
     }
 
+    /**
+     * A response body shared by concurrent gets, never written to so that each caller decodes a resource of its own.
+     */
+    private record ResponseBody(Buffer buffer, boolean protobuf) {}
+
+    private static class WatchRejectedException extends RuntimeException {
+
+        private final int status;
+
+        WatchRejectedException(String uri, int status) {
+            super(String.format("Unable to watch resources from [%s]. Error code [%d]", uri, status));
+            this.status = status;
+        }
+    }
+
     private static class Watch<E extends Event<? extends Watchable>> {
 
         private final String key;
+        private final WatchQuery<E> query;
+        private final boolean resumable;
+        private final WatchEventDecoder<E> decoder;
+        // Protobuf is requested, the API server may still answer in JSON.
+        private final boolean protobuf;
         private Flowable<E> events;
-        private final Map<String, String> resourceVersionCache;
+        private final ResourceVersionCache resourceVersionCache;
+        // Current objects of the watch, sent to late subscribers as a snapshot, and relisted by a list-then-watch.
+        private final Map<String, Watchable> objects = new LinkedHashMap<>();
+        private final int snapshotMaxSize;
+        // More objects than the snapshot max size were watched, they are not kept anymore.
+        private boolean snapshotOverflow;
+        // Last resource version seen on the watch, used to resume after a disconnection.
+        private volatile String resourceVersion;
+        // Reconnections since the watch last connected, driving the backoff.
+        private volatile int reconnectAttempts;
+        // Whether the watch connected once, telling an outage of the API server from an unreachable API server.
+        private volatile boolean everConnected;
 
-        public Watch(String key) {
+        /** @noinspection unchecked*/
+        public Watch(String key, WatchQuery<E> query, int resourceVersionCacheMaxSize, int snapshotMaxSize, boolean protobuf) {
             this.key = key;
-            this.resourceVersionCache = new ConcurrentHashMap<>();
+            this.query = query;
+            this.snapshotMaxSize = snapshotMaxSize;
+            this.resourceVersion = query.getResourceVersion();
+            this.resumable =
+                query.isListThenWatch() || query.isAllowWatchBookmarks() || (resourceVersion != null && !resourceVersion.isEmpty());
+            this.resourceVersionCache = new ResourceVersionCache(resourceVersionCacheMaxSize);
+            this.decoder = new WatchEventDecoder<>((Class<E>) query.getEventType(), query.objectType());
+            this.protobuf = protobuf && ProtobufDecoder.supports(query.objectType());
+        }
+
+        public String accept(boolean stream) {
+            if (query.isMetadataOnly()) {
+                return METADATA_ACCEPT;
+            }
+            if (protobuf) {
+                return stream ? PROTOBUF_WATCH_ACCEPT : PROTOBUF_ACCEPT;
+            }
+            return MediaType.APPLICATION_JSON;
+        }
+
+        /**
+         * Decodes a frame, telling protobuf messages apart from JSON objects by their first byte as both can be received
+         * on the same connection (e.g. a websocket) depending on what the API server supports.
+         *
+         * @noinspection unchecked
+         */
+        public E decode(Buffer frame) {
+            if (protobuf && frame.length() > 0 && frame.getByte(0) != '{') {
+                return ProtobufDecoder.decodeEvent(frame.getBytes(), (Class<E>) query.getEventType(), query.objectType());
+            }
+            return decoder.decode(frame);
         }
 
         public void setEvents(Flowable<E> events) {
             this.events = events;
         }
+
+        public synchronized void apply(E event) {
+            ObjectMeta metadata = event.getObject().metaData();
+            if (bookmark(event)) {
+                return;
+            }
+            if (KubernetesEventType.DELETED.name().equals(event.getType())) {
+                objects.remove(ResourceStore.key(metadata));
+            } else if (!snapshotOverflow) {
+                objects.put(ResourceStore.key(metadata), event.getObject());
+                checkSnapshotSize();
+            }
+        }
+
+        /**
+         * Stops keeping the objects once more than the snapshot max size are watched, rather than holding every watched object
+         * (e.g. the data of secrets) for late subscribers that may never come. A list-then-watch keeps all of them, relisting
+         * needs them to tell the resources deleted while disconnected.
+         */
+        private void checkSnapshotSize() {
+            if (snapshotMaxSize > 0 && objects.size() > snapshotMaxSize && !query.isListThenWatch()) {
+                log.debug("More than {} objects watched on [{}], late subscribers only receive the live events", snapshotMaxSize, key);
+                snapshotOverflow = true;
+                objects.clear();
+            }
+        }
+
+        public synchronized List<Watchable> snapshot() {
+            return new ArrayList<>(objects.values());
+        }
+
+        /**
+         * Replaces the known objects and resource versions by the listed ones.
+         *
+         * @return the events telling the subscribers what changed since the objects were last seen
+         * @noinspection unchecked
+         */
+        public synchronized List<E> relist(List<? extends Watchable> items) {
+            final Class<E> eventType = (Class<E>) query.getEventType();
+            final Map<String, Watchable> previous = new LinkedHashMap<>(objects);
+            final List<E> events = new ArrayList<>();
+            objects.clear();
+
+            for (Watchable item : items) {
+                ObjectMeta metadata = item.metaData();
+                String key = ResourceStore.key(metadata);
+                Watchable known = previous.remove(key);
+                objects.put(key, item);
+                resourceVersionCache.update(KubernetesEventType.ADDED.name(), metadata);
+                if (known == null) {
+                    events.add(Events.newEvent(eventType, KubernetesEventType.ADDED.name(), item));
+                } else if (!Objects.equals(known.metaData().getResourceVersion(), metadata.getResourceVersion())) {
+                    events.add(Events.newEvent(eventType, KubernetesEventType.MODIFIED.name(), item));
+                }
+            }
+
+            // Deleted while the watch was disconnected.
+            for (Watchable deleted : previous.values()) {
+                resourceVersionCache.remove(deleted.metaData());
+                events.add(Events.newEvent(eventType, KubernetesEventType.DELETED.name(), deleted));
+            }
+
+            return events;
+        }
+
+        /**
+         * Forgets the objects once the watch is stopped, a list-then-watch relisting them when watched again.
+         */
+        public synchronized void clear() {
+            objects.clear();
+            snapshotOverflow = false;
+            resourceVersionCache.clear();
+            if (query.isListThenWatch()) {
+                resourceVersion = null;
+            }
+        }
+
+        /**
+         * @return <code>true</code> if the watch only resumes from a resource version because it receives bookmarks
+         */
+        public boolean resumedFromBookmark() {
+            return (
+                query.isAllowWatchBookmarks() &&
+                !query.isListThenWatch() &&
+                (query.getResourceVersion() == null || query.getResourceVersion().isEmpty())
+            );
+        }
+
+        public String uri() {
+            return resumable && resourceVersion != null ? query.withResourceVersion(resourceVersion).toUri() : query.toUri();
+        }
     }
 }
@@ -0,0 +1,60 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.kubernetes.client.impl;
+
+import io.vertx.core.buffer.Buffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits a stream into frames prefixed with their length as a 4 bytes big-endian integer, as the API server does for
+ * protobuf watches. Chunks are accumulated until a frame is complete.
+ *
+ * @author GraviteeSource Team
+ */
+final class LengthDelimitedFramer {
+
+    private static final int LENGTH_PREFIX = 4;
+
+    private Buffer pending = Buffer.buffer();
+
+    /**
+     * @param chunk the chunk received
+     * @return the frames completed by the chunk, without their length prefix
+     */
+    List<Buffer> frames(Buffer chunk) {
+        pending.appendBuffer(chunk);
+
+        List<Buffer> frames = new ArrayList<>(1);
+        int position = 0;
+        while (pending.length() - position >= LENGTH_PREFIX) {
+            int length = pending.getInt(position);
+            if (length < 0) {
+                throw new IllegalStateException("Invalid frame length " + length);
+            }
+            if (pending.length() - position - LENGTH_PREFIX < length) {
+                break;
+            }
+            frames.add(pending.getBuffer(position + LENGTH_PREFIX, position + LENGTH_PREFIX + length));
+            position += LENGTH_PREFIX + length;
+        }
+
+        if (position > 0) {
+            pending = pending.getBuffer(position, pending.length());
+        }
+        return frames;
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.kubernetes.client.impl;
+
+import io.vertx.core.json.JsonObject;
+import java.util.Objects;
+
+/**
+ * Computes the RFC 7386 merge patch turning a JSON object into another, so that only the changed fields are sent.
+ *
+ * @author GraviteeSource Team
+ */
+final class MergePatch {
+
+    private MergePatch() {}
+
+    /**
+     * @param source the current object
+     * @param target the wanted object
+     * @return the fields of <code>target</code> differing from <code>source</code>, removed fields being <code>null</code>
+     */
+    static JsonObject diff(JsonObject source, JsonObject target) {
+        JsonObject patch = new JsonObject();
+        for (String field : source.fieldNames()) {
+            if (source.getValue(field) != null && target.getValue(field) == null) {
+                patch.putNull(field);
+            }
+        }
+
+        for (String field : target.fieldNames()) {
+            Object wanted = target.getValue(field);
+            Object current = source.getValue(field);
+            if (wanted == null || Objects.equals(current, wanted)) {
+                continue;
+            }
+
+            if (current instanceof JsonObject currentObject && wanted instanceof JsonObject wantedObject) {
+                JsonObject nested = diff(currentObject, wantedObject);
+                if (!nested.isEmpty()) {
+                    patch.put(field, nested);
+                }
+            } else {
+                patch.put(field, wanted);
+            }
+        }
+        return patch;
+    }
+}
@@ -0,0 +1,469 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.kubernetes.client.impl;
+
+import io.gravitee.kubernetes.client.model.v1.ConfigMap;
+import io.gravitee.kubernetes.client.model.v1.ConfigMapList;
+import io.gravitee.kubernetes.client.model.v1.EndpointAddress;
+import io.gravitee.kubernetes.client.model.v1.EndpointPort;
+import io.gravitee.kubernetes.client.model.v1.EndpointSlice;
+import io.gravitee.kubernetes.client.model.v1.EndpointSliceConditions;
+import io.gravitee.kubernetes.client.model.v1.EndpointSliceEndpoint;
+import io.gravitee.kubernetes.client.model.v1.EndpointSliceList;
+import io.gravitee.kubernetes.client.model.v1.EndpointSlicePort;
+import io.gravitee.kubernetes.client.model.v1.EndpointSubset;
+import io.gravitee.kubernetes.client.model.v1.Endpoints;
+import io.gravitee.kubernetes.client.model.v1.EndpointsList;
+import io.gravitee.kubernetes.client.model.v1.Error;
+import io.gravitee.kubernetes.client.model.v1.Event;
+import io.gravitee.kubernetes.client.model.v1.ListMeta;
+import io.gravitee.kubernetes.client.model.v1.ObjectMeta;
+import io.gravitee.kubernetes.client.model.v1.ObjectReference;
+import io.gravitee.kubernetes.client.model.v1.OwnerReference;
+import io.gravitee.kubernetes.client.model.v1.Secret;
+import io.gravitee.kubernetes.client.model.v1.SecretList;
+import io.gravitee.kubernetes.client.model.v1.Watchable;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Decodes the protobuf representation served by the API server (<code>application/vnd.kubernetes.protobuf</code>) of the
+ * core types, into the same model as their JSON representation.
+ * <p>
+ * Objects are wrapped in a <code>runtime.Unknown</code> envelope prefixed with a magic number, watch frames being
+ * <code>WatchEvent</code> messages embedding such an object. Only the fields of the model are read, the others are skipped.
+ * Bytes fields (secret data, config map binary data) are base64 encoded as in JSON.
+ *
+ * @author GraviteeSource Team
+ */
+public final class ProtobufDecoder {
+
+    public static final String MEDIA_TYPE = "application/vnd.kubernetes.protobuf";
+    public static final String WATCH_MEDIA_TYPE = MEDIA_TYPE + ";stream=watch";
+
+    private static final byte[] MAGIC = { 'k', '8', 's', 0 };
+    private static final String ERROR_TYPE = "ERROR";
+
+    private static final Map<Class<?>, Function<ProtobufReader, ?>> DECODERS = Map.of(
+        Secret.class,
+        ProtobufDecoder::secret,
+        SecretList.class,
+        ProtobufDecoder::secretList,
+        ConfigMap.class,
+        ProtobufDecoder::configMap,
+        ConfigMapList.class,
+        ProtobufDecoder::configMapList,
+        Endpoints.class,
+        ProtobufDecoder::endpoints,
+        EndpointsList.class,
+        ProtobufDecoder::endpointsList,
+        EndpointSlice.class,
+        ProtobufDecoder::endpointSlice,
+        EndpointSliceList.class,
+        ProtobufDecoder::endpointSliceList
+    );
+
+    private ProtobufDecoder() {}
+
+    public static boolean supports(Class<?> type) {
+        return DECODERS.containsKey(type);
+    }
+
+    public static boolean isProtobuf(String contentType) {
+        return contentType != null && contentType.startsWith(MEDIA_TYPE);
+    }
+
+    /**
+     * Decodes an object, e.g. the body of a get or a list.
+     *
+     * @param payload the object wrapped in its envelope
+     * @param type the type of the object
+     * @return the decoded object
+     */
+    public static <T> T decode(byte[] payload, Class<T> type) {
+        return decode(new ProtobufReader(payload), type);
+    }
+
+    /**
+     * Decodes a watch frame, i.e. a <code>WatchEvent</code> message.
+     *
+     * @param frame the frame, without its length prefix
+     * @param eventType the type of the event
+     * @param objectType the type of the object of the event
+     * @return the decoded event
+     * @throws WatchEventDecoder.ErrorEventException if the frame is an <code>ERROR</code> event
+     */
+    public static <E extends Event<? extends Watchable>> E decodeEvent(byte[] frame, Class<E> eventType, Class<?> objectType) {
+        ProtobufReader reader = new ProtobufReader(frame);
+        String type = null;
+        ProtobufReader object = null;
+
+        while (reader.next()) {
+            switch (reader.field()) {
+                case 1 -> type = reader.readString();
+                case 2 -> object = rawExtension(reader.readMessage());
+                default -> reader.skip();
+            }
+        }
+
+        if (ERROR_TYPE.equals(type)) {
+            throw new WatchEventDecoder.ErrorEventException(object != null ? status(unwrap(object)) : null);
+        }
+        if (object == null) {
+            throw new IllegalStateException("Watch event has no object");
+        }
+
+        return Events.newEvent(eventType, type, (Watchable) decode(object, objectType));
+    }
+
+    private static <T> T decode(ProtobufReader reader, Class<T> type) {
+        Function<ProtobufReader, ?> decoder = DECODERS.get(type);
+        if (decoder == null) {
+            throw new IllegalArgumentException("No protobuf decoder for " + type.getName());
+        }
+        return type.cast(decoder.apply(unwrap(reader)));
+    }
+
+    /**
+     * @return a reader on the raw object of the envelope, or the given reader if there is no envelope
+     */
+    private static ProtobufReader unwrap(ProtobufReader reader) {
+        if (!reader.skipPrefix(MAGIC)) {
+            return reader;
+        }
+
+        while (reader.next()) {
+            if (reader.field() == 2) {
+                return reader.readMessage();
+            }
+            reader.skip();
+        }
+        throw new IllegalStateException("Protobuf envelope has no object");
+    }
+
+    private static ProtobufReader rawExtension(ProtobufReader reader) {
+        while (reader.next()) {
+            if (reader.field() == 1) {
+                return reader.readMessage();
+            }
+            reader.skip();
+        }
+        return null;
+    }
+
+    private static Error.ErrorObject status(ProtobufReader reader) {
+        Error.ErrorObject status = new Error.ErrorObject();
+        status.setKind("Status");
+        while (reader.next()) {
+            switch (reader.field()) {
+                case 2 -> status.setStatus(reader.readString());
+                case 3 -> status.setMessage(reader.readString());
+                case 4 -> status.setReason(reader.readString());
+                case 6 -> status.setCode(reader.readInt());
+                default -> reader.skip();
+            }
+        }
+        return status;
+    }
+
+    private static Secret secret(ProtobufReader reader) {
+        Secret secret = new Secret();
+        while (reader.next()) {
+            switch (reader.field()) {
+                case 1 -> secret.setMetadata(objectMeta(reader.readMessage()));
+                case 2 -> secret.setData(mapEntry(secret.getData(), reader.readMessage(), true));
+                case 3 -> secret.setType(reader.readString());
+                case 4 -> secret.setStringData(mapEntry(secret.getStringData(), reader.readMessage(), false));
+                case 5 -> secret.setImmutable(reader.readBool());
+                default -> reader.skip();
+            }
+        }
+        return secret;
+    }
+
+    private static SecretList secretList(ProtobufReader reader) {
+        SecretList list = new SecretList();
+        while (reader.next()) {
+            switch (reader.field()) {
+                case 1 -> list.setMetadata(listMeta(reader.readMessage()));
+                case 2 -> list.getItems().add(secret(reader.readMessage()));
+                default -> reader.skip();
+            }
+        }
+        return list;
+    }
+
+    private static ConfigMap configMap(ProtobufReader reader) {
+        ConfigMap configMap = new ConfigMap();
+        while (reader.next()) {
+            switch (reader.field()) {
+                case 1 -> configMap.setMetadata(objectMeta(reader.readMessage()));
+                case 2 -> configMap.setData(mapEntry(configMap.getData(), reader.readMessage(), false));
+                case 3 -> configMap.setBinaryData(mapEntry(configMap.getBinaryData(), reader.readMessage(), true));
+                case 4 -> configMap.setImmutable(reader.readBool());
+                default -> reader.skip();
+            }
+        }
+        return configMap;
+    }
+
+    private static ConfigMapList configMapList(ProtobufReader reader) {
+        ConfigMapList list = new ConfigMapList();
+        while (reader.next()) {
+            switch (reader.field()) {
+                case 1 -> list.setMetadata(listMeta(reader.readMessage()));
+                case 2 -> list.getItems().add(configMap(reader.readMessage()));
+                default -> reader.skip();
+            }
+        }
+        return list;
+    }
+
+    private static Endpoints endpoints(ProtobufReader reader) {
+        Endpoints endpoints = new Endpoints();
+        while (reader.next()) {
+            switch (reader.field()) {
+                case 1 -> endpoints.setMetadata(objectMeta(reader.readMessage()));
+                case 2 -> endpoints.setSubsets(add(endpoints.getSubsets(), endpointSubset(reader.readMessage())));
+                default -> reader.skip();
+            }
+        }
+        return endpoints;
+    }
+
+    private static EndpointsList endpointsList(ProtobufReader reader) {
+        EndpointsList list = new EndpointsList();
+        while (reader.next()) {
+            switch (reader.field()) {
+                case 1 -> list.setMetadata(listMeta(reader.readMessage()));
+                case 2 -> list.getItems().add(endpoints(reader.readMessage()));
+                default -> reader.skip();
+            }
+        }
+        return list;
+    }
+
+    private static EndpointSubset endpointSubset(ProtobufReader reader) {
+        EndpointSubset subset = new EndpointSubset();
+        while (reader.next()) {
+            switch (reader.field()) {
+                case 1 -> subset.setAddresses(add(subset.getAddresses(), endpointAddress(reader.readMessage())));
+                case 2 -> subset.setNotReadyAddresses(add(subset.getNotReadyAddresses(), endpointAddress(reader.readMessage())));
+                case 3 -> subset.setPorts(add(subset.getPorts(), endpointPort(reader.readMessage())));
+                default -> reader.skip();
+            }
+        }
+        return subset;
+    }
+
+    private static EndpointAddress endpointAddress(ProtobufReader reader) {
+        EndpointAddress address = new EndpointAddress();
+        while (reader.next()) {
+            switch (reader.field()) {
+                case 1 -> address.setIp(reader.readString());
+                case 2 -> address.setTargetRef(objectReference(reader.readMessage()));
+                case 4 -> address.setNodeName(reader.readString());
+                default -> reader.skip();
+            }
+        }
+        return address;
+    }
+
+    private static EndpointPort endpointPort(ProtobufReader reader) {
+        EndpointPort port = new EndpointPort();
+        while (reader.next()) {
+            switch (reader.field()) {
+                case 2 -> port.setPort(reader.readInt());
+                case 3 -> port.setProtocol(reader.readString());
+                default -> reader.skip();
+            }
+        }
+        return port;
+    }
+
+    private static EndpointSlice endpointSlice(ProtobufReader reader) {
+        EndpointSlice slice = new EndpointSlice();
+        while (reader.next()) {
+            switch (reader.field()) {
+                case 1 -> slice.setMetadata(objectMeta(reader.readMessage()));
+                case 2 -> slice.setEndpoints(add(slice.getEndpoints(), endpointSliceEndpoint(reader.readMessage())));
+                case 3 -> slice.setPorts(add(slice.getPorts(), endpointSlicePort(reader.readMessage())));
+                case 4 -> slice.setAddressType(reader.readString());
+                default -> reader.skip();
+            }
+        }
+        return slice;
+    }
+
+    private static EndpointSliceList endpointSliceList(ProtobufReader reader) {
+        EndpointSliceList list = new EndpointSliceList();
+        while (reader.next()) {
+            switch (reader.field()) {
+                case 1 -> list.setMetadata(listMeta(reader.readMessage()));
+                case 2 -> list.getItems().add(endpointSlice(reader.readMessage()));
+                default -> reader.skip();
+            }
+        }
+        return list;
+    }
+
+    private static EndpointSliceEndpoint endpointSliceEndpoint(ProtobufReader reader) {
+        EndpointSliceEndpoint endpoint = new EndpointSliceEndpoint();
+        while (reader.next()) {
+            switch (reader.field()) {
+                case 1 -> endpoint.setAddresses(add(endpoint.getAddresses(), reader.readString()));
+                case 2 -> endpoint.setConditions(endpointSliceConditions(reader.readMessage()));
+                default -> reader.skip();
+            }
+        }
+        return endpoint;
+    }
+
+    private static EndpointSliceConditions endpointSliceConditions(ProtobufReader reader) {
+        EndpointSliceConditions conditions = new EndpointSliceConditions();
+        while (reader.next()) {
+            switch (reader.field()) {
+                case 1 -> conditions.setReady(reader.readBool());
+                case 2 -> conditions.setServing(reader.readBool());
+                case 3 -> conditions.setTerminating(reader.readBool());
+                default -> reader.skip();
+            }
+        }
+        return conditions;
+    }
+
+    private static EndpointSlicePort endpointSlicePort(ProtobufReader reader) {
+        EndpointSlicePort port = new EndpointSlicePort();
+        while (reader.next()) {
+            switch (reader.field()) {
+                case 1 -> port.setName(reader.readString());
+                case 2 -> port.setProtocol(reader.readString());
+                case 3 -> port.setPort(reader.readInt());
+                default -> reader.skip();
+            }
+        }
+        return port;
+    }
+
+    private static ObjectMeta objectMeta(ProtobufReader reader) {
+        ObjectMeta metadata = new ObjectMeta();
+        while (reader.next()) {
+            switch (reader.field()) {
+                case 1 -> metadata.setName(reader.readString());
+                case 2 -> metadata.setGenerateName(reader.readString());
+                case 3 -> metadata.setNamespace(reader.readString());
+                case 4 -> metadata.setSelfLink(reader.readString());
+                case 5 -> metadata.setUid(reader.readString());
+                case 6 -> metadata.setResourceVersion(reader.readString());
+                case 7 -> metadata.setGeneration(reader.readVarint());
+                case 8 -> metadata.setCreationTimestamp(time(reader.readMessage()));
+                case 9 -> metadata.setDeletionTimestamp(time(reader.readMessage()));
+                case 10 -> metadata.setDeletionGracePeriodSeconds(reader.readVarint());
+                case 11 -> metadata.setLabels(mapEntry(metadata.getLabels(), reader.readMessage(), false));
+                case 12 -> metadata.setAnnotations(mapEntry(metadata.getAnnotations(), reader.readMessage(), false));
+                case 13 -> metadata.setOwnerReferences(add(metadata.getOwnerReferences(), ownerReference(reader.readMessage())));
+                case 14 -> metadata.setFinalizers(add(metadata.getFinalizers(), reader.readString()));
+                default -> reader.skip();
+            }
+        }
+        return metadata;
+    }
+
+    private static ListMeta listMeta(ProtobufReader reader) {
+        ListMeta metadata = new ListMeta();
+        while (reader.next()) {
+            switch (reader.field()) {
+                case 1 -> metadata.setSelfLink(reader.readString());
+                case 2 -> metadata.setResourceVersion(reader.readString());
+                case 3 -> metadata.setContinue(reader.readString());
+                case 4 -> metadata.setRemainingItemCount(reader.readVarint());
+                default -> reader.skip();
+            }
+        }
+        return metadata;
+    }
+
+    private static OwnerReference ownerReference(ProtobufReader reader) {
+        OwnerReference reference = new OwnerReference();
+        while (reader.next()) {
+            switch (reader.field()) {
+                case 1 -> reference.setKind(reader.readString());
+                case 3 -> reference.setName(reader.readString());
+                case 4 -> reference.setUid(reader.readString());
+                case 5 -> reference.setApiVersion(reader.readString());
+                case 6 -> reference.setController(reader.readBool());
+                case 7 -> reference.setBlockOwnerDeletion(reader.readBool());
+                default -> reader.skip();
+            }
+        }
+        return reference;
+    }
+
+    private static ObjectReference objectReference(ProtobufReader reader) {
+        ObjectReference reference = new ObjectReference();
+        while (reader.next()) {
+            switch (reader.field()) {
+                case 1 -> reference.setKind(reader.readString());
+                case 2 -> reference.setNamespace(reader.readString());
+                case 3 -> reference.setName(reader.readString());
+                case 4 -> reference.setUid(reader.readString());
+                default -> reader.skip();
+            }
+        }
+        return reference;
+    }
+
+    private static String time(ProtobufReader reader) {
+        long seconds = 0;
+        while (reader.next()) {
+            if (reader.field() == 1) {
+                seconds = reader.readVarint();
+            } else {
+                reader.skip();
+            }
+        }
+        // Serialized with a second precision, as in JSON.
+        return Instant.ofEpochSecond(seconds).toString();
+    }
+
+    private static Map<String, String> mapEntry(Map<String, String> map, ProtobufReader reader, boolean bytes) {
+        String key = null;
+        String value = null;
+        while (reader.next()) {
+            switch (reader.field()) {
+                case 1 -> key = reader.readString();
+                case 2 -> value = bytes ? Base64.getEncoder().encodeToString(reader.readBytes()) : reader.readString();
+                default -> reader.skip();
+            }
+        }
+
+        Map<String, String> entries = map != null ? map : new HashMap<>();
+        // A missing value is the default one, i.e. empty.
+        entries.put(key != null ? key : "", value != null ? value : "");
+        return entries;
+    }
+
+    private static <T> List<T> add(List<T> list, T item) {
+        List<T> items = list != null ? list : new ArrayList<>();
+        items.add(item);
+        return items;
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.kubernetes.client.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Minimal reader of the protobuf wire format, reading fields in place from a byte array.
+ * Nested messages are read with a reader bounded to their bytes, without copying them.
+ *
+ * @author GraviteeSource Team
+ */
+final class ProtobufReader {
+
+    private static final int VARINT = 0;
+    private static final int FIXED64 = 1;
+    private static final int LENGTH_DELIMITED = 2;
+    private static final int FIXED32 = 5;
+
+    private final byte[] bytes;
+    private final int limit;
+    private int position;
+    private int field;
+    private int wireType;
+
+    ProtobufReader(byte[] bytes) {
+        this(bytes, 0, bytes.length);
+    }
+
+    ProtobufReader(byte[] bytes, int offset, int limit) {
+        this.bytes = bytes;
+        this.position = offset;
+        this.limit = limit;
+    }
+
+    /**
+     * Reads the tag of the next field.
+     *
+     * @return <code>false</code> once the end of the message is reached
+     */
+    boolean next() {
+        if (position >= limit) {
+            return false;
+        }
+        long tag = readVarint();
+        field = (int) (tag >>> 3);
+        wireType = (int) (tag & 0x7);
+        return true;
+    }
+
+    int field() {
+        return field;
+    }
+
+    long readVarint() {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalStateException("Malformed protobuf varint");
+    }
+
+    int readInt() {
+        return (int) readVarint();
+    }
+
+    boolean readBool() {
+        return readVarint() != 0;
+    }
+
+    String readString() {
+        int length = readLength();
+        String value = new String(bytes, position, length, StandardCharsets.UTF_8);
+        position += length;
+        return value;
+    }
+
+    byte[] readBytes() {
+        int length = readLength();
+        byte[] value = Arrays.copyOfRange(bytes, position, position + length);
+        position += length;
+        return value;
+    }
+
+    /**
+     * @return a reader on the embedded message, this reader moving past it
+     */
+    ProtobufReader readMessage() {
+        int length = readLength();
+        ProtobufReader message = new ProtobufReader(bytes, position, position + length);
+        position += length;
+        return message;
+    }
+
+    /**
+     * Moves past the given prefix if the remaining bytes start with it.
+     *
+     * @return <code>true</code> if the prefix was found
+     */
+    boolean skipPrefix(byte[] prefix) {
+        if (limit - position < prefix.length || !Arrays.equals(bytes, position, position + prefix.length, prefix, 0, prefix.length)) {
+            return false;
+        }
+        position += prefix.length;
+        return true;
+    }
+
+    void skip() {
+        switch (wireType) {
+            case VARINT -> readVarint();
+            case FIXED64 -> advance(8);
+            case LENGTH_DELIMITED -> advance(readLength());
+            case FIXED32 -> advance(4);
+            default -> throw new IllegalStateException("Unsupported protobuf wire type " + wireType);
+        }
+    }
+
+    private int readLength() {
+        int length = readInt();
+        if (length < 0 || position + length > limit) {
+            throw new IllegalStateException("Truncated protobuf message");
+        }
+        return length;
+    }
+
+    private byte readByte() {
+        if (position >= limit) {
+            throw new IllegalStateException("Truncated protobuf message");
+        }
+        return bytes[position++];
+    }
+
+    private void advance(int length) {
+        if (position + length > limit) {
+            throw new IllegalStateException("Truncated protobuf message");
+        }
+        position += length;
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.kubernetes.client.impl;
+
+import io.gravitee.kubernetes.client.metrics.KubernetesClientMetrics;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Schedules the reconnections of the watches of a client with an exponential backoff and full jitter (a random delay
+ * up to the backoff), so that watches and clients do not reconnect in lockstep.
+ * Consecutive failures of all the watches feed a shared circuit breaker: once open, no watch reconnects before it is
+ * due to close, and the first watch connecting closes it.
+ *
+ * @author GraviteeSource Team
+ */
+final class ReconnectScheduler {
+
+    private final long initialDelayMillis;
+    private final long maxDelayMillis;
+    private final int failureThreshold;
+    private final long openMillis;
+    private final KubernetesClientMetrics metrics;
+    private final AtomicInteger failures = new AtomicInteger();
+    private volatile long openUntil;
+
+    /**
+     * @param initialDelayMillis the backoff of the first reconnection
+     * @param maxDelayMillis the maximum backoff
+     * @param failureThreshold the number of consecutive failures opening the circuit, <code>0</code> to never open it
+     * @param openMillis how long the circuit stays open
+     */
+    ReconnectScheduler(
+        long initialDelayMillis,
+        long maxDelayMillis,
+        int failureThreshold,
+        long openMillis,
+        KubernetesClientMetrics metrics
+    ) {
+        this.initialDelayMillis = initialDelayMillis;
+        this.maxDelayMillis = Math.max(initialDelayMillis, maxDelayMillis);
+        this.failureThreshold = failureThreshold;
+        this.openMillis = openMillis;
+        this.metrics = metrics;
+    }
+
+    /**
+     * @param attempt the number of reconnections of the watch since it last connected
+     * @param failure <code>true</code> if the watch failed, <code>false</code> if it was closed
+     * @return in milliseconds, the delay before reconnecting
+     */
+    long nextDelay(int attempt, boolean failure) {
+        long now = System.currentTimeMillis();
+        if (failure && failureThreshold > 0 && failures.incrementAndGet() >= failureThreshold && openUntil <= now) {
+            openUntil = now + openMillis;
+            metrics.circuitOpened();
+        }
+
+        long backoff = Math.min(maxDelayMillis, initialDelayMillis << Math.min(attempt, 30));
+        long delay = ThreadLocalRandom.current().nextLong(backoff + 1);
+        long open = openUntil - now;
+        if (open > 0) {
+            // Still jittered, the watches must not all reconnect when the circuit closes.
+            delay += open;
+        }
+
+        metrics.reconnect(delay, failure);
+        return delay;
+    }
+
+    /**
+     * Called when a watch connects, proving the API server is reachable.
+     */
+    void connected() {
+        if (failures.get() != 0) {
+            failures.set(0);
+        }
+        if (openUntil != 0) {
+            openUntil = 0;
+            metrics.circuitClosed();
+        }
+        if (metrics.getCurrentBackoff() != 0) {
+            metrics.watchConnected();
+        }
+    }
+
+    boolean isOpen() {
+        return openUntil > System.currentTimeMillis();
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.kubernetes.client.impl;
+
+import io.gravitee.kubernetes.client.model.v1.KubernetesEventType;
+import io.gravitee.kubernetes.client.model.v1.ObjectMeta;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps the last resource version seen for each live resource of a watch, so that events already delivered (e.g. replayed
+ * after a reconnection) are not emitted twice.
+ * <p>
+ * Entries are dropped when a resource is deleted. When a maximum size is set, the least recently updated resources are
+ * evicted first, an evicted resource being treated as unknown on its next event.
+ *
+ * @author GraviteeSource Team
+ */
+public final class ResourceVersionCache {
+
+    private static final long UNPARSABLE = -1L;
+
+    private final Map<String, Version> versions;
+
+    public ResourceVersionCache() {
+        this(0);
+    }
+
+    /**
+     * @param maxSize the maximum number of resources to track, <code>0</code> for no limit
+     */
+    public ResourceVersionCache(int maxSize) {
+        this.versions = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Version> eldest) {
+                return maxSize > 0 && size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Records the resource version carried by an event if it is newer than the last one seen for the resource.
+     *
+     * @param type the type of the event
+     * @param metadata the metadata of the resource
+     * @return <code>true</code> if the resource version is newer and the event must be emitted
+     */
+    public synchronized boolean update(String type, ObjectMeta metadata) {
+        long resourceVersion = parse(metadata.getResourceVersion());
+        if (resourceVersion == UNPARSABLE || KubernetesEventType.BOOKMARK.name().equals(type)) {
+            // Not comparable or not bound to a resource, let the event go through.
+            return true;
+        }
+
+        String key = metadata.getNamespace() + '/' + metadata.getName();
+
+        if (KubernetesEventType.DELETED.name().equals(type)) {
+            Version known = versions.remove(key);
+            return known == null || known.value < resourceVersion;
+        }
+
+        Version known = versions.get(key);
+        if (known == null) {
+            versions.put(key, new Version(resourceVersion));
+            return true;
+        }
+
+        if (known.value < resourceVersion) {
+            known.value = resourceVersion;
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Forgets the resource version of a resource, e.g. no longer listed.
+     */
+    public synchronized void remove(ObjectMeta metadata) {
+        versions.remove(metadata.getNamespace() + '/' + metadata.getName());
+    }
+
+    public synchronized void clear() {
+        versions.clear();
+    }
+
+    public synchronized int size() {
+        return versions.size();
+    }
+
+    private static long parse(String resourceVersion) {
+        if (resourceVersion == null || resourceVersion.isEmpty()) {
+            return UNPARSABLE;
+        }
+
+        try {
+            return Long.parseLong(resourceVersion);
+        } catch (NumberFormatException e) {
+            return UNPARSABLE;
+        }
+    }
+
+    private static final class Version {
+
+        private long value;
+
+        private Version(long value) {
+            this.value = value;
+        }
+    }
+}
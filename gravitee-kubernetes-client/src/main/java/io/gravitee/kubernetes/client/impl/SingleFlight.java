@@ -0,0 +1,117 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.kubernetes.client.impl;
+
+import io.reactivex.rxjava3.core.Maybe;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent identical requests: callers of a request already in flight share its result instead of sending
+ * it again. Successful results can also be memoized for a short time.
+ * <p>
+ * The same result is handed to every caller, so results must not be mutated: the client shares response bodies, each
+ * caller decoding a resource of its own.
+ *
+ * @author GraviteeSource Team
+ */
+final class SingleFlight {
+
+    private final Map<String, Maybe<?>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Memo> memos;
+    private final long memoTtlMillis;
+
+    SingleFlight(long memoTtlMillis) {
+        this(memoTtlMillis, 0);
+    }
+
+    /**
+     * @param memoTtlMillis how long successful results are reused, <code>0</code> to only share requests in flight
+     * @param memoMaxSize the maximum number of results reused, <code>0</code> for no limit, the least recently used being
+     *                    evicted first
+     */
+    SingleFlight(long memoTtlMillis, int memoMaxSize) {
+        this.memoTtlMillis = memoTtlMillis;
+        this.memos =
+            Collections.synchronizedMap(
+                new LinkedHashMap<String, Memo>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<String, Memo> eldest) {
+                        return (
+                            (memoMaxSize > 0 && size() > memoMaxSize) || eldest.getValue().expiresAt <= System.currentTimeMillis()
+                        );
+                    }
+                }
+            );
+    }
+
+    <T> Maybe<T> execute(String key, Supplier<Maybe<T>> request) {
+        return execute(key, request, true);
+    }
+
+    /**
+     * @param memoize <code>false</code> to only share the request in flight, e.g. for a result that must not be older than
+     *                the call
+     * @noinspection unchecked
+     */
+    <T> Maybe<T> execute(String key, Supplier<Maybe<T>> request, boolean memoize) {
+        return Maybe.defer(() -> {
+            if (memoize && memoTtlMillis > 0) {
+                Memo memo = memos.get(key);
+                if (memo != null && memo.expiresAt > System.currentTimeMillis()) {
+                    return Maybe.just((T) memo.value);
+                }
+            }
+
+            return (Maybe<T>) inFlight.computeIfAbsent(key, k -> share(k, request.get(), memoize));
+        });
+    }
+
+    /**
+     * Drops the memoized result of a request, e.g. once the resource has been written.
+     */
+    void forget(String key) {
+        memos.remove(key);
+    }
+
+    int inFlight() {
+        return inFlight.size();
+    }
+
+    private <T> Maybe<T> share(String key, Maybe<T> request, boolean memoize) {
+        final AtomicReference<Maybe<T>> shared = new AtomicReference<>();
+        shared.set(request.doOnSuccess(value -> memoize(key, value, memoize)).doFinally(() -> inFlight.remove(key, shared.get())).cache());
+        return shared.get();
+    }
+
+    private void memoize(String key, Object value, boolean memoize) {
+        if (!memoize || memoTtlMillis <= 0) {
+            return;
+        }
+
+        memos.put(key, new Memo(value, System.currentTimeMillis() + memoTtlMillis));
+    }
+
+    int memoized() {
+        return memos.size();
+    }
+
+    private record Memo(Object value, long expiresAt) {}
+}
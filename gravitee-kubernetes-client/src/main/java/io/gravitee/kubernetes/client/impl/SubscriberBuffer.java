@@ -0,0 +1,278 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.kubernetes.client.impl;
+
+import io.gravitee.kubernetes.client.api.OverflowPolicy;
+import io.gravitee.kubernetes.client.informer.ResourceStore;
+import io.gravitee.kubernetes.client.metrics.KubernetesClientMetrics;
+import io.gravitee.kubernetes.client.model.v1.Event;
+import io.gravitee.kubernetes.client.model.v1.KubernetesEventType;
+import io.gravitee.kubernetes.client.model.v1.Watchable;
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.exceptions.MissingBackpressureException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/**
+ * Buffers the events of a shared watch for one subscriber, so that a subscriber that does not keep up never delays the
+ * others. Once the buffer is full, the overflow policy applies. With a conflation window, events are held for the
+ * window and only the latest state of each resource is emitted at its end.
+ * Events are offered by the shared watch and emitted as requested by the single subscriber of {@link #flowable()}.
+ *
+ * @author GraviteeSource Team
+ */
+final class SubscriberBuffer<E extends Event<? extends Watchable>> implements Subscription {
+
+    private final int capacity;
+    private final OverflowPolicy policy;
+    private final long windowMillis;
+    private final Scheduler scheduler;
+    private final KubernetesClientMetrics metrics;
+    // Keyed by namespace/name with a conflation window, by arrival otherwise.
+    private final LinkedHashMap<Object, E> queue = new LinkedHashMap<>();
+    private final AtomicLong requested = new AtomicLong();
+    private final AtomicInteger wip = new AtomicInteger();
+    private long sequence;
+    private boolean holding;
+    private volatile Subscriber<? super E> downstream;
+    private volatile boolean cancelled;
+    private volatile boolean done;
+    private Throwable error;
+
+    SubscriberBuffer(int capacity, OverflowPolicy policy, KubernetesClientMetrics metrics) {
+        this(capacity, policy, 0, null, metrics);
+    }
+
+    /**
+     * @param capacity the maximum number of buffered events, <code>0</code> for no limit
+     * @param policy what to do when the buffer is full
+     * @param windowMillis how long events are held to merge those of the same resource, <code>0</code> to emit them as
+     *                     soon as requested
+     * @param scheduler the scheduler ending the windows
+     */
+    SubscriberBuffer(int capacity, OverflowPolicy policy, long windowMillis, Scheduler scheduler, KubernetesClientMetrics metrics) {
+        this.capacity = capacity;
+        this.policy = policy;
+        this.windowMillis = windowMillis;
+        this.scheduler = scheduler;
+        this.metrics = metrics;
+    }
+
+    Flowable<E> flowable() {
+        return Flowable.fromPublisher(subscriber -> {
+            subscriber.onSubscribe(this);
+            downstream = subscriber;
+            drain();
+        });
+    }
+
+    void offer(E event) {
+        synchronized (this) {
+            if (cancelled || done) {
+                return;
+            }
+
+            // Events are only merged within a window or to make room once full, never when the subscriber keeps up.
+            Object key = windowMillis > 0 ? ResourceStore.key(event.getObject().metaData()) : Long.valueOf(sequence++);
+            E pending = null;
+            if (windowMillis > 0) {
+                pending = queue.remove(key);
+            } else if (full() && policy == OverflowPolicy.CONFLATE_BY_KEY) {
+                pending = removeLatest(ResourceStore.key(event.getObject().metaData()));
+            }
+
+            if (pending != null) {
+                metrics.conflated();
+                metrics.consumed(1);
+                event = conflate(pending, event);
+            } else if (full()) {
+                if (policy == OverflowPolicy.ERROR) {
+                    metrics.overflowed();
+                    metrics.consumed(queue.size());
+                    queue.clear();
+                    error = new MissingBackpressureException("Subscriber not keeping up with the watch, " + capacity + " events buffered");
+                    done = true;
+                    event = null;
+                } else {
+                    dropOldest();
+                }
+            }
+
+            if (event != null) {
+                if (pending == null && queue.isEmpty() && windowMillis > 0 && !holding) {
+                    // First event of a window, held until the window ends with the events of the same resources merged into it.
+                    holding = true;
+                    scheduler.scheduleDirect(this::release, windowMillis, TimeUnit.MILLISECONDS);
+                }
+                queue.put(key, event);
+                metrics.buffered();
+            }
+        }
+        drain();
+    }
+
+    void onError(Throwable throwable) {
+        synchronized (this) {
+            if (done) {
+                return;
+            }
+            error = throwable;
+            done = true;
+        }
+        drain();
+    }
+
+    void onComplete() {
+        done = true;
+        drain();
+    }
+
+    @Override
+    public void request(long n) {
+        requested.getAndUpdate(current -> current + n < 0 ? Long.MAX_VALUE : current + n);
+        drain();
+    }
+
+    @Override
+    public void cancel() {
+        cancelled = true;
+        synchronized (this) {
+            metrics.consumed(queue.size());
+            queue.clear();
+        }
+    }
+
+    /**
+     * Merges two events of the same resource, the subscriber having consumed neither: a resource added then modified is
+     * still added, and a resource added then deleted was never seen.
+     *
+     * @return the merged event, <code>null</code> if there is nothing left to emit
+     * @noinspection unchecked
+     */
+    static <E extends Event<? extends Watchable>> E conflate(E pending, E next) {
+        boolean added = KubernetesEventType.ADDED.name().equals(pending.getType());
+        if (added && KubernetesEventType.DELETED.name().equals(next.getType())) {
+            return null;
+        }
+        if (added && KubernetesEventType.MODIFIED.name().equals(next.getType())) {
+            return Events.newEvent((Class<E>) next.getClass(), KubernetesEventType.ADDED.name(), next.getObject());
+        }
+        return next;
+    }
+
+    private boolean full() {
+        return capacity > 0 && queue.size() >= capacity;
+    }
+
+    private E removeLatest(String resourceKey) {
+        E latest = null;
+        Object latestKey = null;
+        for (var entry : queue.entrySet()) {
+            if (resourceKey.equals(ResourceStore.key(entry.getValue().getObject().metaData()))) {
+                latest = entry.getValue();
+                latestKey = entry.getKey();
+            }
+        }
+        if (latest != null) {
+            queue.remove(latestKey);
+        }
+        return latest;
+    }
+
+    private void dropOldest() {
+        Iterator<E> oldest = queue.values().iterator();
+        oldest.next();
+        oldest.remove();
+        metrics.dropped();
+    }
+
+    private void release() {
+        synchronized (this) {
+            holding = false;
+        }
+        drain();
+    }
+
+    private synchronized E poll() {
+        if (holding) {
+            return null;
+        }
+        Iterator<E> oldest = queue.values().iterator();
+        if (!oldest.hasNext()) {
+            return null;
+        }
+        E event = oldest.next();
+        oldest.remove();
+        return event;
+    }
+
+    private synchronized boolean isEmpty() {
+        return queue.isEmpty();
+    }
+
+    private void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+
+        int missed = 1;
+        do {
+            Subscriber<? super E> subscriber = downstream;
+            if (subscriber != null) {
+                long emitted = 0;
+                long demand = requested.get();
+                while (emitted != demand && !cancelled) {
+                    E event = poll();
+                    if (event == null) {
+                        break;
+                    }
+                    subscriber.onNext(event);
+                    emitted++;
+                }
+                if (emitted != 0) {
+                    metrics.consumed(emitted);
+                    if (demand != Long.MAX_VALUE) {
+                        requested.addAndGet(-emitted);
+                    }
+                }
+
+                if (cancelled) {
+                    return;
+                }
+                if (done && isEmpty()) {
+                    cancelled = true;
+                    Throwable throwable;
+                    synchronized (this) {
+                        throwable = error;
+                    }
+                    if (throwable != null) {
+                        subscriber.onError(throwable);
+                    } else {
+                        subscriber.onComplete();
+                    }
+                    return;
+                }
+            }
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.kubernetes.client.impl;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.gravitee.kubernetes.client.api.Type;
+import io.gravitee.kubernetes.client.model.v1.Error;
+import io.gravitee.kubernetes.client.model.v1.Event;
+import io.gravitee.kubernetes.client.model.v1.Watchable;
+import io.vertx.core.buffer.Buffer;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Decodes watch frames straight from the received buffer into the event type.
+ * The <code>type</code> field is read with the streaming parser so that the <code>object</code> can be bound to the
+ * resource (or to an error status) in a single pass, without building an intermediate JSON tree.
+ *
+ * @author GraviteeSource Team
+ */
+public final class WatchEventDecoder<E extends Event<? extends Watchable>> {
+
+    private static final String ERROR_TYPE = "ERROR";
+    private static final ObjectMapper MAPPER = new ObjectMapper().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    private static final ObjectReader ERROR_READER = MAPPER.readerFor(Error.ErrorObject.class);
+
+    private final Class<E> eventType;
+    private final ObjectReader objectReader;
+
+    public WatchEventDecoder(Class<E> eventType, Class<?> objectType) {
+        this.eventType = eventType;
+        this.objectReader = MAPPER.readerFor(objectType);
+    }
+
+    /** @noinspection unchecked*/
+    public static <E extends Event<? extends Watchable>> WatchEventDecoder<E> of(Type type) {
+        return new WatchEventDecoder<>((Class<E>) type.eventType(), type.type());
+    }
+
+    /**
+     * Decodes a watch frame.
+     *
+     * @param frame the frame as received from the API server
+     * @return the decoded event
+     * @throws ErrorEventException if the frame is an <code>ERROR</code> event
+     */
+    public E decode(Buffer frame) {
+        try (JsonParser parser = MAPPER.createParser(frame.getBytes())) {
+            return decode(parser);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to decode watch event", e);
+        }
+    }
+
+    private E decode(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new IOException("Watch event is not a JSON object");
+        }
+
+        String type = null;
+        Object object = null;
+        JsonNode pending = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+
+            if ("type".equals(field)) {
+                type = parser.getValueAsString();
+            } else if ("object".equals(field)) {
+                if (type != null) {
+                    object = readerFor(type).readValue(parser);
+                } else {
+                    // The API server always writes the type first, keep a tree only if it did not.
+                    pending = parser.readValueAsTree();
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+
+        if (pending != null) {
+            object = readerFor(type).readValue(pending);
+        }
+
+        if (ERROR_TYPE.equals(type)) {
+            throw new ErrorEventException((Error.ErrorObject) object);
+        }
+
+        return Events.newEvent(eventType, type, (Watchable) object);
+    }
+
+    private ObjectReader readerFor(String type) {
+        return ERROR_TYPE.equals(type) ? ERROR_READER : objectReader;
+    }
+
+    /**
+     * Raised when the API server sends an <code>ERROR</code> event on the watch.
+     */
+    public static class ErrorEventException extends RuntimeException {
+
+        private final transient Error.ErrorObject error;
+
+        public ErrorEventException(Error.ErrorObject error) {
+            super(error != null ? String.format("Watch error [%d]: %s", error.getCode(), error.getMessage()) : "Watch error");
+            this.error = error;
+        }
+
+        public Error.ErrorObject getError() {
+            return error;
+        }
+
+        public int code() {
+            return error != null ? error.getCode() : 0;
+        }
+    }
+}
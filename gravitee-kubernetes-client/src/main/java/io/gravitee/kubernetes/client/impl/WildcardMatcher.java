@@ -0,0 +1,95 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.kubernetes.client.impl;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * Matches resource names against a wildcard resource of a watch query (e.g. <code>my-secret-*</code>).
+ * A name matches when it contains the parts of the wildcard in order.
+ * <p>
+ * Wildcards with a single <code>*</code> are matched with plain string searches, others with a regular expression.
+ * Compiled matchers are kept in a bounded cache so that queries on the same wildcard share them.
+ *
+ * @author GraviteeSource Team
+ */
+public final class WildcardMatcher {
+
+    static final int DEFAULT_MAX_CACHED_PATTERNS = 128;
+
+    private static final char WILDCARD = '*';
+
+    private final Map<String, Predicate<String>> patternCache;
+
+    public WildcardMatcher() {
+        this(DEFAULT_MAX_CACHED_PATTERNS);
+    }
+
+    public WildcardMatcher(int maxCachedPatterns) {
+        this.patternCache = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Predicate<String>> eldest) {
+                    return size() > maxCachedPatterns;
+                }
+            }
+        );
+    }
+
+    /**
+     * Returns the matcher of the given wildcard, to be evaluated against each resource name.
+     *
+     * @param wildcard the wildcard resource
+     * @return a predicate on resource names
+     */
+    public Predicate<String> compile(String wildcard) {
+        return patternCache.computeIfAbsent(wildcard, WildcardMatcher::doCompile);
+    }
+
+    int cachedPatterns() {
+        return patternCache.size();
+    }
+
+    private static Predicate<String> doCompile(String wildcard) {
+        int star = wildcard.indexOf(WILDCARD);
+        if (star < 0) {
+            return name -> name.contains(wildcard);
+        }
+
+        if (wildcard.indexOf(WILDCARD, star + 1) < 0) {
+            String head = wildcard.substring(0, star);
+            String tail = wildcard.substring(star + 1);
+
+            if (tail.isEmpty()) {
+                return name -> name.contains(head);
+            }
+            if (head.isEmpty()) {
+                return name -> name.contains(tail);
+            }
+            return name -> {
+                int index = name.indexOf(head);
+                return index >= 0 && name.indexOf(tail, index + head.length()) >= 0;
+            };
+        }
+
+        final Pattern pattern = Pattern.compile("\\Q" + wildcard.replace("*", "\\E.*\\Q") + "\\E");
+        return name -> pattern.matcher(name).find();
+    }
+}
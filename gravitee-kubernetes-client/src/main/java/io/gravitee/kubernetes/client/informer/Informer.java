@@ -0,0 +1,224 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.kubernetes.client.informer;
+
+import io.gravitee.kubernetes.client.KubernetesClient;
+import io.gravitee.kubernetes.client.api.FieldSelector;
+import io.gravitee.kubernetes.client.api.ResourceQuery;
+import io.gravitee.kubernetes.client.api.Type;
+import io.gravitee.kubernetes.client.api.WatchQuery;
+import io.gravitee.kubernetes.client.config.KubernetesConfig;
+import io.gravitee.kubernetes.client.model.v1.Event;
+import io.gravitee.kubernetes.client.model.v1.KubernetesEventType;
+import io.gravitee.kubernetes.client.model.v1.Watchable;
+import io.gravitee.kubernetes.client.model.v1.WatchableList;
+import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.disposables.Disposable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps a local {@link ResourceStore} in sync with a collection of the cluster by listing it page by page and then
+ * watching it from the listed resource version. A full relist happens each time the watch fails (e.g. when the resource
+ * version is gone). The watch emits bookmarks, so that a quiet collection is still known to be in sync.
+ *
+ * @author GraviteeSource Team
+ */
+@Slf4j
+public class Informer<T extends Watchable> {
+
+    public static final long RELIST_DELAY_MILLIS = 1000L;
+    private static final String METADATA_NAME = "metadata.name";
+
+    private final KubernetesClient client;
+    private final WatchQuery<Event<T>> query;
+    private final int pageSize;
+    private final ResourceStore<T> store = new ResourceStore<>();
+    private volatile boolean synced;
+    private volatile long lastSyncTime;
+    private Disposable subscription;
+
+    public Informer(KubernetesClient client, WatchQuery<Event<T>> query) {
+        this(client, query, KubernetesConfig.getInstance().getListPageSize());
+    }
+
+    /**
+     * @param pageSize the maximum number of resources of each page of the list, <code>0</code> to list them at once
+     */
+    public Informer(KubernetesClient client, WatchQuery<Event<T>> query, int pageSize) {
+        if (query.getResource() != null && query.getResource().contains("*")) {
+            throw new IllegalArgumentException("Informers do not support wildcard resources");
+        }
+        this.client = client;
+        this.query = query;
+        this.pageSize = pageSize;
+    }
+
+    public synchronized Informer<T> start() {
+        if (subscription == null || subscription.isDisposed()) {
+            log.debug("Start informer on [{}]", query.toUri());
+            ResourceQuery<WatchableList<T>> listQuery = ResourceQuery.<WatchableList<T>>from(query).build();
+            WatchQuery<Event<T>> watchQuery = query.withBookmarks();
+
+            subscription = Single
+                .defer(() -> {
+                    List<T> items = new ArrayList<>();
+                    return list(listQuery, null, items).map(resourceVersion -> {
+                        store.replace(items);
+                        markSynced();
+                        return resourceVersion;
+                    });
+                })
+                .flatMapPublisher(resourceVersion -> client.watch(watchQuery.withResourceVersion(resourceVersion)))
+                .doOnNext(this::apply)
+                .doOnError(throwable -> {
+                    synced = false;
+                    log.debug("Informer on [{}] lost synchronization, relisting", query.toUri(), throwable);
+                })
+                .retryWhen(errors -> errors.delay(RELIST_DELAY_MILLIS, TimeUnit.MILLISECONDS))
+                .subscribe(e -> {}, throwable -> log.error("Informer on [{}] stopped unexpectedly", query.toUri(), throwable));
+        }
+        return this;
+    }
+
+    public synchronized void stop() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+        synced = false;
+        store.clear();
+    }
+
+    public synchronized boolean isRunning() {
+        return subscription != null && !subscription.isDisposed();
+    }
+
+    /**
+     * @return <code>true</code> once the collection has been listed and as long as the watch is healthy
+     */
+    public boolean isSynced() {
+        return synced;
+    }
+
+    /**
+     * @return the epoch millis of the last list or watch event received from the API server, bookmarks included
+     */
+    public long getLastSyncTime() {
+        return lastSyncTime;
+    }
+
+    /**
+     * The API server sending a bookmark about every minute, a staleness well above that means the watch is not receiving
+     * anything even though it has not failed yet (e.g. reconnecting to an unreachable API server).
+     *
+     * @return the number of milliseconds since the store last heard from the API server, or {@link Long#MAX_VALUE} if not synced
+     */
+    public long staleness() {
+        return synced ? System.currentTimeMillis() - lastSyncTime : Long.MAX_VALUE;
+    }
+
+    /**
+     * @return the store, whose items are shared with every caller and must not be modified
+     */
+    public ResourceStore<T> store() {
+        return store;
+    }
+
+    public WatchQuery<Event<T>> query() {
+        return query;
+    }
+
+    /**
+     * Checks whether a resource query can be answered from the store, including answering that the resource does not exist.
+     * Only plain single-resource queries on the informed type and namespace qualify.
+     *
+     * @param resourceQuery the query to check
+     * @return <code>true</code> if the store holds the authoritative answer for the query
+     */
+    public boolean serves(ResourceQuery<?> resourceQuery) {
+        if (!synced || resourceQuery.type() != query.type() || resourceQuery.isMetadataOnly() != query.isMetadataOnly()) {
+            return false;
+        }
+
+        String resource = resourceQuery.getResource();
+        if (
+            resource == null ||
+            resource.isEmpty() ||
+            !resourceQuery.getFieldSelectors().isEmpty() ||
+            !resourceQuery.getLabelSelectors().isEmpty() ||
+            (resourceQuery.getResourceVersion() != null && !resourceQuery.getResourceVersion().isEmpty())
+        ) {
+            return false;
+        }
+
+        if (query.getNamespace() != null && !query.getNamespace().equals(resourceQuery.getNamespace())) {
+            return false;
+        }
+
+        return query.getLabelSelectors().isEmpty() && coversName(query.getFieldSelectors(), resource);
+    }
+
+    private static boolean coversName(List<FieldSelector> fieldSelectors, String name) {
+        if (fieldSelectors.isEmpty()) {
+            return true;
+        }
+
+        FieldSelector selector = fieldSelectors.get(0);
+        return (
+            fieldSelectors.size() == 1 &&
+            selector.isEquality() &&
+            METADATA_NAME.equals(selector.getName()) &&
+            name.equals(selector.getValue())
+        );
+    }
+
+    /**
+     * Lists the pages of the collection into the given items.
+     *
+     * @return the resource version of the list
+     */
+    private Single<String> list(ResourceQuery<WatchableList<T>> listQuery, String continueToken, List<T> items) {
+        return client
+            .get(pageSize > 0 ? listQuery.withPage(pageSize, continueToken) : listQuery)
+            .toSingle()
+            .flatMap(page -> {
+                items.addAll(page.getItems());
+                String next = page.getMetadata() != null ? page.getMetadata().getContinue() : null;
+                if (next == null || next.isEmpty()) {
+                    return Single.just(page.getMetadata() != null ? page.getMetadata().getResourceVersion() : "");
+                }
+                return list(listQuery, next, items);
+            });
+    }
+
+    private void apply(Event<T> event) {
+        markSynced();
+        switch (KubernetesEventType.valueOf(event.getType())) {
+            case ADDED, MODIFIED -> store.put(event.getObject());
+            case DELETED -> store.remove(event.getObject());
+            default -> {
+                // Nothing to apply, the event only proves the watch is alive.
+            }
+        }
+    }
+
+    private void markSynced() {
+        lastSyncTime = System.currentTimeMillis();
+        synced = true;
+    }
+}
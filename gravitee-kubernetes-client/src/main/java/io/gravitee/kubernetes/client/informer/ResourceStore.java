@@ -0,0 +1,175 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.kubernetes.client.informer;
+
+import io.gravitee.kubernetes.client.api.LabelSelector;
+import io.gravitee.kubernetes.client.model.v1.ObjectMeta;
+import io.gravitee.kubernetes.client.model.v1.Watchable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory store of watchable items indexed by namespace/name and by label.
+ * Writes are expected to come from a single informer while reads can be concurrent.
+ * <p>
+ * Items are not copied: every caller gets the instances held by the store, so they must be treated as read-only, a
+ * modified item corrupting the store for all other callers. Copy an item before changing it (e.g. to update it).
+ *
+ * @author GraviteeSource Team
+ */
+public class ResourceStore<T extends Watchable> {
+
+    private static final char KEY_SEPARATOR = '/';
+    private static final char LABEL_SEPARATOR = '=';
+
+    private final Map<String, T> items = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> labelIndex = new ConcurrentHashMap<>();
+
+    public static String key(String namespace, String name) {
+        return namespace + KEY_SEPARATOR + name;
+    }
+
+    public static String key(ObjectMeta metadata) {
+        return key(metadata.getNamespace(), metadata.getName());
+    }
+
+    /**
+     * @return the item held by the store, read-only, or <code>null</code> if unknown
+     */
+    public T get(String namespace, String name) {
+        return items.get(key(namespace, name));
+    }
+
+    /**
+     * Lists the items of the given namespace.
+     *
+     * @param namespace the namespace, or <code>null</code> to list items of all namespaces
+     * @return the matching items
+     */
+    public List<T> list(String namespace) {
+        return list(namespace, List.of());
+    }
+
+    /**
+     * Lists the items of the given namespace matching all the label selectors.
+     * The first equality selector, if any, is resolved using the label index.
+     *
+     * @param namespace the namespace, or <code>null</code> to list items of all namespaces
+     * @param labelSelectors the label selectors to match
+     * @return the matching items, read-only
+     */
+    public List<T> list(String namespace, List<LabelSelector> labelSelectors) {
+        Collection<T> candidates = items.values();
+
+        for (LabelSelector selector : labelSelectors) {
+            if (selector.isEquality()) {
+                Set<String> keys = labelIndex.getOrDefault(labelKey(selector.getName(), selector.getValue()), Set.of());
+                List<T> indexed = new ArrayList<>(keys.size());
+                for (String key : keys) {
+                    T item = items.get(key);
+                    if (item != null) {
+                        indexed.add(item);
+                    }
+                }
+                candidates = indexed;
+                break;
+            }
+        }
+
+        List<T> result = new ArrayList<>();
+        for (T item : candidates) {
+            if (matches(item.metaData(), namespace, labelSelectors)) {
+                result.add(item);
+            }
+        }
+        return result;
+    }
+
+    public void put(T item) {
+        String key = key(item.metaData());
+        T previous = items.put(key, item);
+        if (previous != null) {
+            unindex(key, previous.metaData().getLabels());
+        }
+        index(key, item.metaData().getLabels());
+    }
+
+    public void remove(T item) {
+        String key = key(item.metaData());
+        T previous = items.remove(key);
+        if (previous != null) {
+            unindex(key, previous.metaData().getLabels());
+        }
+    }
+
+    /**
+     * Replaces the whole content of the store, typically after a list of the collection.
+     *
+     * @param newItems the items now present in the collection
+     */
+    public void replace(Collection<T> newItems) {
+        clear();
+        newItems.forEach(this::put);
+    }
+
+    public void clear() {
+        items.clear();
+        labelIndex.clear();
+    }
+
+    public int size() {
+        return items.size();
+    }
+
+    private void index(String key, Map<String, String> labels) {
+        if (labels != null) {
+            labels.forEach((name, value) -> labelIndex.computeIfAbsent(labelKey(name, value), k -> ConcurrentHashMap.newKeySet()).add(key));
+        }
+    }
+
+    private void unindex(String key, Map<String, String> labels) {
+        if (labels != null) {
+            labels.forEach((name, value) ->
+                labelIndex.computeIfPresent(labelKey(name, value), (k, keys) -> {
+                    keys.remove(key);
+                    return keys.isEmpty() ? null : keys;
+                })
+            );
+        }
+    }
+
+    private static boolean matches(ObjectMeta metadata, String namespace, List<LabelSelector> labelSelectors) {
+        if (namespace != null && !namespace.equals(metadata.getNamespace())) {
+            return false;
+        }
+
+        for (LabelSelector selector : labelSelectors) {
+            if (!selector.matches(metadata.getLabels())) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static String labelKey(String name, String value) {
+        return name + LABEL_SEPARATOR + value;
+    }
+}
@@ -0,0 +1,323 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.kubernetes.client.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live metrics of a client:
+ * <ul>
+ *     <li>its HTTP connection pool: requests waiting for a connection, requests holding one, and the time spent waiting for it</li>
+ *     <li>its list responses: how many were compressed, and their size on the wire compared to their size once decompressed</li>
+ *     <li>its watch reconnections: how many were scheduled, the backoff of the last one and the state of the circuit breaker
+ *     shared by the watches</li>
+ *     <li>the events buffered for its watch subscribers: how many are waiting to be consumed, and how many were dropped or
+ *     conflated because a subscriber did not keep up</li>
+ * </ul>
+ *
+ * @author GraviteeSource Team
+ */
+public class KubernetesClientMetrics {
+
+    private final AtomicInteger inUse = new AtomicInteger();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final LongAdder acquired = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final LongAdder streamedWatches = new LongAdder();
+
+    private final LongAdder compressedResponses = new LongAdder();
+    private final LongAdder compressedBytes = new LongAdder();
+    private final LongAdder decompressedBytes = new LongAdder();
+    private final LongAdder uncompressedResponses = new LongAdder();
+    private final LongAdder uncompressedBytes = new LongAdder();
+
+    private final LongAdder reconnects = new LongAdder();
+    private final LongAdder failedReconnects = new LongAdder();
+    private final LongAdder circuitOpenings = new LongAdder();
+    private volatile long currentBackoff;
+    private volatile boolean circuitOpen;
+
+    private final LongAdder bufferDepth = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder conflated = new LongAdder();
+    private final LongAdder overflows = new LongAdder();
+
+    /**
+     * Records a request waiting for a connection.
+     *
+     * @return the time the request started waiting, to be given back when it is acquired or rejected
+     */
+    public long enqueue() {
+        queued.incrementAndGet();
+        return System.nanoTime();
+    }
+
+    public void acquired(long queuedAt) {
+        long wait = System.nanoTime() - queuedAt;
+        queued.decrementAndGet();
+        inUse.incrementAndGet();
+        acquired.increment();
+        totalWaitNanos.add(wait);
+        maxWaitNanos.accumulateAndGet(wait, Math::max);
+    }
+
+    public void rejected() {
+        queued.decrementAndGet();
+        rejected.increment();
+    }
+
+    public void released() {
+        inUse.decrementAndGet();
+    }
+
+    public void watchStreamed() {
+        streamedWatches.increment();
+    }
+
+    public void compressed(long wireBytes, long bytes) {
+        compressedResponses.increment();
+        compressedBytes.add(wireBytes);
+        decompressedBytes.add(bytes);
+    }
+
+    public void uncompressed(long bytes) {
+        uncompressedResponses.increment();
+        uncompressedBytes.add(bytes);
+    }
+
+    public void reconnect(long backoffMillis, boolean failure) {
+        reconnects.increment();
+        if (failure) {
+            failedReconnects.increment();
+        }
+        currentBackoff = backoffMillis;
+    }
+
+    public void watchConnected() {
+        currentBackoff = 0;
+    }
+
+    public void circuitOpened() {
+        circuitOpenings.increment();
+        circuitOpen = true;
+    }
+
+    public void circuitClosed() {
+        circuitOpen = false;
+    }
+
+    public void buffered() {
+        bufferDepth.increment();
+    }
+
+    public void consumed(long count) {
+        bufferDepth.add(-count);
+    }
+
+    public void dropped() {
+        dropped.increment();
+        bufferDepth.decrement();
+    }
+
+    public void conflated() {
+        conflated.increment();
+    }
+
+    public void overflowed() {
+        overflows.increment();
+    }
+
+    /**
+     * @return the number of requests currently holding a connection (or an HTTP/2 stream)
+     */
+    public int getInUse() {
+        return inUse.get();
+    }
+
+    /**
+     * @return the number of requests currently waiting for a connection
+     */
+    public int getQueued() {
+        return queued.get();
+    }
+
+    public long getAcquired() {
+        return acquired.sum();
+    }
+
+    /**
+     * @return the number of requests that failed to get a connection (e.g. wait queue full, connection error, cancelled while waiting)
+     */
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    public long getAverageWaitTime(TimeUnit unit) {
+        long count = acquired.sum();
+        return count == 0 ? 0 : unit.convert(totalWaitNanos.sum() / count, TimeUnit.NANOSECONDS);
+    }
+
+    public long getMaxWaitTime(TimeUnit unit) {
+        return unit.convert(maxWaitNanos.get(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @return the number of watch connections streamed over HTTP/2 instead of websockets
+     */
+    public long getStreamedWatches() {
+        return streamedWatches.sum();
+    }
+
+    public long getCompressedResponses() {
+        return compressedResponses.sum();
+    }
+
+    /**
+     * @return the size on the wire of the compressed responses
+     */
+    public long getCompressedBytes() {
+        return compressedBytes.sum();
+    }
+
+    /**
+     * @return the size of the compressed responses once decompressed
+     */
+    public long getDecompressedBytes() {
+        return decompressedBytes.sum();
+    }
+
+    public long getUncompressedResponses() {
+        return uncompressedResponses.sum();
+    }
+
+    public long getUncompressedBytes() {
+        return uncompressedBytes.sum();
+    }
+
+    /**
+     * @return the size on the wire of the compressed responses relative to their decompressed size, <code>1</code> if none
+     */
+    public double getCompressionRatio() {
+        long decompressed = decompressedBytes.sum();
+        return decompressed == 0 ? 1 : (double) compressedBytes.sum() / decompressed;
+    }
+
+    public long getReconnects() {
+        return reconnects.sum();
+    }
+
+    /**
+     * @return the reconnections following a failure (e.g. the API server being unreachable), not a watch being closed
+     */
+    public long getFailedReconnects() {
+        return failedReconnects.sum();
+    }
+
+    /**
+     * @return in milliseconds, the delay of the last scheduled reconnection, <code>0</code> once a watch is connected again
+     */
+    public long getCurrentBackoff() {
+        return currentBackoff;
+    }
+
+    public long getCircuitOpenings() {
+        return circuitOpenings.sum();
+    }
+
+    public boolean isCircuitOpen() {
+        return circuitOpen;
+    }
+
+    /**
+     * @return the number of events currently buffered, across all subscribers
+     */
+    public long getBufferDepth() {
+        return bufferDepth.sum();
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    /**
+     * @return the number of events merged into a buffered event of the same resource
+     */
+    public long getConflated() {
+        return conflated.sum();
+    }
+
+    /**
+     * @return the number of subscribers failed because their buffer was full
+     */
+    public long getOverflows() {
+        return overflows.sum();
+    }
+
+    @Override
+    public String toString() {
+        return (
+            "KubernetesClientMetrics{" +
+            "inUse=" +
+            getInUse() +
+            ", queued=" +
+            getQueued() +
+            ", acquired=" +
+            getAcquired() +
+            ", rejected=" +
+            getRejected() +
+            ", averageWaitMs=" +
+            getAverageWaitTime(TimeUnit.MILLISECONDS) +
+            ", maxWaitMs=" +
+            getMaxWaitTime(TimeUnit.MILLISECONDS) +
+            ", streamedWatches=" +
+            getStreamedWatches() +
+            ", compressedResponses=" +
+            getCompressedResponses() +
+            ", compressedBytes=" +
+            getCompressedBytes() +
+            ", decompressedBytes=" +
+            getDecompressedBytes() +
+            ", uncompressedResponses=" +
+            getUncompressedResponses() +
+            ", uncompressedBytes=" +
+            getUncompressedBytes() +
+            ", reconnects=" +
+            getReconnects() +
+            ", failedReconnects=" +
+            getFailedReconnects() +
+            ", currentBackoff=" +
+            getCurrentBackoff() +
+            ", circuitOpenings=" +
+            getCircuitOpenings() +
+            ", circuitOpen=" +
+            isCircuitOpen() +
+            ", bufferDepth=" +
+            getBufferDepth() +
+            ", dropped=" +
+            getDropped() +
+            ", conflated=" +
+            getConflated() +
+            ", overflows=" +
+            getOverflows() +
+            '}'
+        );
+    }
+}
@@ -26,7 +26,7 @@ import java.util.List;
  * @since 3.9.11
  */
 @JsonIgnoreProperties(ignoreUnknown = true)
-public class ConfigMapList {
+public class ConfigMapList implements WatchableList<ConfigMap> {
 
     private String apiVersion = "v1";
     private List<ConfigMap> items = new ArrayList<>();
@@ -29,7 +29,7 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @Data
 @JsonIgnoreProperties(ignoreUnknown = true)
-public class EndpointSliceList {
+public class EndpointSliceList implements WatchableList<EndpointSlice> {
 
     private String apiVersion = "discovery.k8s.io/v1";
     private List<EndpointSlice> items = new ArrayList<>();
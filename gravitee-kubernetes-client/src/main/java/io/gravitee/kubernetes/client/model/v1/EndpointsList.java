@@ -30,10 +30,10 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @Data
 @JsonIgnoreProperties(ignoreUnknown = true)
-public class EndpointsList {
+public class EndpointsList implements WatchableList<Endpoints> {
 
     private String apiVersion = "v1";
-    private List<EndpointsList> items = new ArrayList<>();
+    private List<Endpoints> items = new ArrayList<>();
     private String kind = "EndpointList";
     private ListMeta metadata;
 }
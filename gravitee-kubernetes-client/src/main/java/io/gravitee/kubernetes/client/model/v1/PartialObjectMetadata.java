@@ -0,0 +1,50 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.kubernetes.client.model.v1;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.io.Serial;
+import java.io.Serializable;
+import lombok.Data;
+
+/**
+ * The metadata of a resource of any type, as returned by the API server when asked for
+ * <code>as=PartialObjectMetadata;g=meta.k8s.io;v=v1</code>.
+ *
+ * @author GraviteeSource Team
+ */
+@Data
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class PartialObjectMetadata implements Serializable, Watchable {
+
+    @Serial
+    private static final long serialVersionUID = 2841597035719425713L;
+
+    @JsonProperty("apiVersion")
+    private String apiVersion = "meta.k8s.io/v1";
+
+    @JsonProperty("kind")
+    private String kind = "PartialObjectMetadata";
+
+    @JsonProperty("metadata")
+    private ObjectMeta metadata;
+
+    @Override
+    public ObjectMeta metaData() {
+        return metadata;
+    }
+}
@@ -26,7 +26,7 @@ import java.util.List;
  * @since 3.9.11
  */
 @JsonIgnoreProperties(ignoreUnknown = true)
-public class SecretList {
+public class SecretList implements WatchableList<Secret> {
 
     private String apiVersion = "v1";
     private List<Secret> items = new ArrayList<>();
@@ -16,7 +16,10 @@
 package io.gravitee.kubernetes.client.spring;
 
 import io.gravitee.kubernetes.client.KubernetesClient;
+import io.gravitee.kubernetes.client.config.KubernetesConfig;
 import io.gravitee.kubernetes.client.impl.KubernetesClientV1Impl;
+import io.vertx.rxjava3.core.Vertx;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -29,7 +32,8 @@ import org.springframework.context.annotation.Configuration;
 public class KubernetesClientConfiguration {
 
     @Bean
-    public KubernetesClient kubernetesClient() {
-        return new KubernetesClientV1Impl();
+    public KubernetesClient kubernetesClient(ObjectProvider<Vertx> vertx) {
+        // Run on the event loops of the application when it provides a Vert.x instance.
+        return new KubernetesClientV1Impl(KubernetesConfig.getInstance(), vertx.getIfAvailable());
     }
 }
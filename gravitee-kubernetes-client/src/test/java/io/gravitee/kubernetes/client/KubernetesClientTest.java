@@ -0,0 +1,111 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.kubernetes.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.gravitee.kubernetes.client.api.PatchType;
+import io.gravitee.kubernetes.client.api.ResourceQuery;
+import io.gravitee.kubernetes.client.api.WatchQuery;
+import io.gravitee.kubernetes.client.exception.ResourceNotFoundException;
+import io.gravitee.kubernetes.client.model.v1.Event;
+import io.gravitee.kubernetes.client.model.v1.Secret;
+import io.gravitee.kubernetes.client.model.v1.Watchable;
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.core.Maybe;
+import io.vertx.core.json.JsonObject;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Implementations written against an earlier version of the interface get defaults for the methods added since.
+ *
+ * @author GraviteeSource Team
+ */
+class KubernetesClientTest {
+
+    private final KubernetesClient client = new KubernetesClient() {
+        @Override
+        public Maybe<Watchable> create(Watchable item) {
+            return Maybe.just(item);
+        }
+
+        @Override
+        public <T extends Watchable> Maybe<T> update(T item) {
+            return Maybe.just(item);
+        }
+
+        @Override
+        public <T extends Watchable> Maybe<T> patch(T original, T modified) {
+            return Maybe.just(modified);
+        }
+
+        @Override
+        public <T> Maybe<T> patch(ResourceQuery<T> query, PatchType patchType, JsonObject patch) {
+            return get(query);
+        }
+
+        @Override
+        public <T extends Watchable> Maybe<T> apply(T item, String fieldManager, boolean force) {
+            return Maybe.just(item);
+        }
+
+        /** @noinspection unchecked*/
+        @Override
+        public <T> Maybe<T> get(ResourceQuery<T> query) {
+            return "secret1".equals(query.getResource())
+                ? Maybe.just((T) secret())
+                : Maybe.error(new ResourceNotFoundException("Can't find resource at " + query.toUri()));
+        }
+
+        @Override
+        public <E extends Event<? extends Watchable>> Flowable<E> watch(WatchQuery<E> query) {
+            return Flowable.never();
+        }
+    };
+
+    @Test
+    void should_get_all_with_one_get_per_query() {
+        ResourceQuery<?> found = ResourceQuery.from("/test/secrets/secret1").build();
+        ResourceQuery<?> missing = ResourceQuery.from("/test/secrets/unknown").build();
+
+        client.getAll(List.of(found, missing)).test().assertValue(results -> results.size() == 1 && results.containsKey(found));
+    }
+
+    @Test
+    void should_get_decoded_values() {
+        client
+            .getValue(ResourceQuery.from("/test/secrets/secret1/password").build())
+            .test()
+            .assertValue(value -> StandardCharsets.UTF_8.decode(value).toString().equals("admin"));
+        client.getValue(ResourceQuery.from("/test/secrets/secret1/unknown").build()).test().assertNoValues().assertComplete();
+        client.getValue(ResourceQuery.from("/test/secrets/secret1").build()).test().assertError(IllegalArgumentException.class);
+    }
+
+    @Test
+    void should_have_empty_metrics_by_default() {
+        assertThat(client.metrics().getAcquired()).isZero();
+    }
+
+    private static Secret secret() {
+        Secret secret = new Secret();
+        secret.setData(Map.of("password", Base64.getEncoder().encodeToString("admin".getBytes(StandardCharsets.UTF_8))));
+        return secret;
+    }
+}
@@ -18,14 +18,18 @@ package io.gravitee.kubernetes.client;
 import io.fabric8.kubernetes.api.model.*;
 import io.gravitee.kubernetes.client.api.ResourceQuery;
 import io.gravitee.kubernetes.client.api.WatchQuery;
+import io.gravitee.kubernetes.client.exception.ResourceConflictException;
 import io.gravitee.kubernetes.client.exception.ResourceVersionNotFoundException;
 import io.gravitee.kubernetes.client.model.v1.Error.ErrorObject;
 import io.gravitee.kubernetes.client.model.v1.Watchable;
 import io.reactivex.rxjava3.core.Single;
 import io.reactivex.rxjava3.observers.TestObserver;
 import io.reactivex.rxjava3.subscribers.TestSubscriber;
+import io.vertx.core.json.JsonObject;
 import io.vertx.ext.unit.TestContext;
 import io.vertx.ext.unit.junit.VertxUnitRunner;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
@@ -89,6 +93,18 @@ public class KubernetesConfigMapV1Test extends KubernetesUnitTest {
         });
     }
 
+    @Test
+    public void shouldGetValueOfConfigMapKey() throws InterruptedException {
+        server.expect().get().withPath("/api/v1/namespaces/test/configmaps/configMap1").andReturn(200, configMap1).always();
+
+        final TestObserver<ByteBuffer> obs = kubernetesClient
+            .getValue(ResourceQuery.from("/test/configmaps/configMap1/host").build())
+            .test();
+
+        obs.await();
+        obs.assertValue(value -> StandardCharsets.UTF_8.decode(value).toString().equals("localhost1"));
+    }
+
     @Test
     public void shouldGetConfigMapListWithResourceVersion(TestContext testContext) throws InterruptedException {
         server
@@ -403,6 +419,78 @@ public class KubernetesConfigMapV1Test extends KubernetesUnitTest {
         });
     }
 
+    @Test
+    public void shouldPatchOnlyChangedFieldsOfConfigMap(TestContext tc) throws InterruptedException {
+        server.expect().get().withPath("/api/v1/namespaces/test/configmaps/configMap1").andReturn(200, configMap1).always();
+        server.expect().patch().withPath("/api/v1/namespaces/test/configmaps/configMap1").andReturn(200, configMap1).once();
+
+        io.gravitee.kubernetes.client.model.v1.ConfigMap original = kubernetesClient
+            .get(ResourceQuery.<io.gravitee.kubernetes.client.model.v1.ConfigMap>from("/test/configmaps/configMap1").build())
+            .blockingGet();
+        io.gravitee.kubernetes.client.model.v1.ConfigMap modified = kubernetesClient
+            .get(ResourceQuery.<io.gravitee.kubernetes.client.model.v1.ConfigMap>from("/test/configmaps/configMap1").build())
+            .blockingGet();
+        modified.getData().put("port", "789");
+
+        TestObserver<io.gravitee.kubernetes.client.model.v1.ConfigMap> obs = kubernetesClient.patch(original, modified).test();
+        obs.await(5, TimeUnit.SECONDS);
+        obs.assertValue(configMap -> configMap.getMetadata().getName().equals("configMap1"));
+
+        var request = server.getLastRequest();
+        tc.assertEquals("application/merge-patch+json", request.getHeader("Content-Type"));
+        tc.assertEquals(
+            new JsonObject().put("data", new JsonObject().put("port", "789")).put("metadata", new JsonObject().put("resourceVersion", "1")),
+            new JsonObject(request.getBody().readUtf8())
+        );
+    }
+
+    @Test
+    public void shouldFailToUpdateConfigMapChangedSinceRead(TestContext tc) throws InterruptedException {
+        server.expect().put().withPath("/api/v1/namespaces/test/configmaps/configMap1").andReturn(409, new StatusBuilder().build()).once();
+
+        io.gravitee.kubernetes.client.model.v1.ConfigMap configMap = new io.gravitee.kubernetes.client.model.v1.ConfigMap();
+        io.gravitee.kubernetes.client.model.v1.ObjectMeta metadata = new io.gravitee.kubernetes.client.model.v1.ObjectMeta();
+        metadata.setName("configMap1");
+        metadata.setNamespace("test");
+        metadata.setResourceVersion("1");
+        configMap.setMetadata(metadata);
+
+        TestObserver<io.gravitee.kubernetes.client.model.v1.ConfigMap> obs = kubernetesClient.update(configMap).test();
+        obs.await(5, TimeUnit.SECONDS);
+        obs.assertError(ResourceConflictException.class);
+    }
+
+    @Test
+    public void shouldServerSideApplyConfigMap(TestContext tc) throws InterruptedException {
+        server
+            .expect()
+            .patch()
+            .withPath("/api/v1/namespaces/test/configmaps/configMap1?fieldManager=gravitee-operator&force=true")
+            .andReturn(200, configMap1)
+            .once();
+
+        io.gravitee.kubernetes.client.model.v1.ConfigMap configMap = new io.gravitee.kubernetes.client.model.v1.ConfigMap();
+        io.gravitee.kubernetes.client.model.v1.ObjectMeta metadata = new io.gravitee.kubernetes.client.model.v1.ObjectMeta();
+        metadata.setName("configMap1");
+        metadata.setNamespace("test");
+        configMap.setMetadata(metadata);
+        configMap.setData(Map.of("port", "789"));
+
+        TestObserver<io.gravitee.kubernetes.client.model.v1.ConfigMap> obs = kubernetesClient
+            .apply(configMap, "gravitee-operator", true)
+            .test();
+        obs.await(5, TimeUnit.SECONDS);
+        obs.assertValue(applied -> applied.getMetadata().getName().equals("configMap1"));
+
+        var request = server.getLastRequest();
+        tc.assertEquals("application/apply-patch+yaml", request.getHeader("Content-Type"));
+        JsonObject body = new JsonObject(request.getBody().readUtf8());
+        tc.assertEquals("v1", body.getString("apiVersion"));
+        tc.assertEquals("ConfigMap", body.getString("kind"));
+        tc.assertEquals("789", body.getJsonObject("data").getString("port"));
+        tc.assertFalse(body.getJsonObject("metadata").containsKey("resourceVersion"));
+    }
+
     protected ConfigMap buildConfigMap(String uid, String name, Map<String, String> data) {
         ObjectMeta metadata = new ObjectMeta();
         metadata.setNamespace("test");
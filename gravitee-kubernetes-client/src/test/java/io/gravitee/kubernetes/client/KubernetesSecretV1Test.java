@@ -19,11 +19,20 @@ import io.fabric8.kubernetes.api.model.ObjectMeta;
 import io.fabric8.kubernetes.api.model.Secret;
 import io.fabric8.kubernetes.api.model.SecretBuilder;
 import io.fabric8.kubernetes.api.model.SecretListBuilder;
+import io.fabric8.kubernetes.api.model.StatusBuilder;
 import io.fabric8.kubernetes.api.model.WatchEvent;
+import io.fabric8.kubernetes.client.server.mock.KubernetesMockServer;
+import io.fabric8.kubernetes.client.utils.Serialization;
 import io.gravitee.kubernetes.client.api.FieldSelector;
 import io.gravitee.kubernetes.client.api.LabelSelector;
 import io.gravitee.kubernetes.client.api.ResourceQuery;
+import io.gravitee.kubernetes.client.api.Type;
 import io.gravitee.kubernetes.client.api.WatchQuery;
+import io.gravitee.kubernetes.client.config.KubernetesConfig;
+import io.gravitee.kubernetes.client.exception.ResourceNotFoundException;
+import io.gravitee.kubernetes.client.impl.KubernetesClientV1Impl;
+import io.gravitee.kubernetes.client.informer.Informer;
+import io.gravitee.kubernetes.client.model.v1.PartialObjectMetadataList;
 import io.gravitee.kubernetes.client.model.v1.Watchable;
 import io.reactivex.rxjava3.core.Flowable;
 import io.reactivex.rxjava3.core.Single;
@@ -31,6 +40,9 @@ import io.reactivex.rxjava3.observers.TestObserver;
 import io.reactivex.rxjava3.subscribers.TestSubscriber;
 import io.vertx.ext.unit.TestContext;
 import io.vertx.ext.unit.junit.VertxUnitRunner;
+import java.net.InetAddress;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -86,6 +98,144 @@ public class KubernetesSecretV1Test extends KubernetesUnitTest {
         });
     }
 
+    @Test
+    public void should_ask_for_compressed_lists_until_they_are_small(TestContext tc) throws InterruptedException {
+        server
+            .expect()
+            .get()
+            .withPath("/api/v1/namespaces/test/secrets")
+            .andReturn(200, new SecretListBuilder().addToItems(secret1, secret2).withNewMetadata("1", 2L, "1234", "/selflink").build())
+            .always();
+
+        KubernetesConfig config = KubernetesConfig.newInstance();
+        config.setApiServerHost(server.getHostName());
+        config.setApiServerPort(server.getPort());
+        config.setVerifyHost(false);
+        config.setListCompression(true);
+        KubernetesClientV1Impl client = new KubernetesClientV1Impl(config);
+
+        client.get(ResourceQuery.secrets("test").build()).test().await().assertValue(list -> list.getItems().size() == 2);
+        tc.assertEquals("gzip", server.getLastRequest().getHeader("Accept-Encoding"));
+
+        // The list was below the threshold, the next one is not worth compressing.
+        client.get(ResourceQuery.secrets("test").build()).test().await().assertValue(list -> list.getItems().size() == 2);
+        tc.assertNull(server.getLastRequest().getHeader("Accept-Encoding"));
+        tc.assertEquals(2L, client.metrics().getUncompressedResponses());
+    }
+
+    @Test
+    public void should_list_secrets_page_by_page() throws InterruptedException {
+        server
+            .expect()
+            .get()
+            .withPath("/api/v1/namespaces/test/secrets?limit=2")
+            .andReturn(200, new SecretListBuilder().addToItems(secret1, secret2).withNewMetadata("page2", 1L, "1234", "/selflink").build())
+            .once();
+
+        server
+            .expect()
+            .get()
+            .withPath("/api/v1/namespaces/test/secrets?limit=2&continue=page2")
+            .andReturn(200, new SecretListBuilder().addToItems(secret3).withNewMetadata(null, 0L, "1234", "/selflink").build())
+            .once();
+
+        final TestSubscriber<io.gravitee.kubernetes.client.model.v1.Secret> obs = kubernetesClient
+            .list(ResourceQuery.secrets("test").limit(2).build())
+            .test();
+
+        obs.await();
+        obs.assertComplete();
+        obs.assertValueCount(3);
+        obs.assertValueAt(2, secret -> secret.getMetadata().getName().equals("secret3"));
+    }
+
+    @Test
+    public void should_get_all_secrets_with_gets() throws InterruptedException {
+        server.expect().get().withPath("/api/v1/namespaces/test/secrets/secret1").andReturn(200, new SecretBuilder(secret1).build()).once();
+        server.expect().get().withPath("/api/v1/namespaces/test/secrets/secret2").andReturn(200, new SecretBuilder(secret2).build()).once();
+
+        ResourceQuery<?> query1 = ResourceQuery.from("/test/secrets/secret1/tls.key").build();
+        ResourceQuery<?> query2 = ResourceQuery.from("/test/secrets/secret2/tls.key").build();
+        ResourceQuery<?> missing = ResourceQuery.from("/test/secrets/unknown/tls.key").build();
+
+        final TestObserver<Map<ResourceQuery<?>, Object>> obs = kubernetesClient.getAll(List.of(query1, query2, missing)).test();
+
+        obs.await();
+        obs.assertValue(results ->
+            results.size() == 2 &&
+            ((io.gravitee.kubernetes.client.model.v1.Secret) results.get(query1)).getMetadata().getName().equals("secret1") &&
+            ((io.gravitee.kubernetes.client.model.v1.Secret) results.get(query2)).getMetadata().getName().equals("secret2")
+        );
+    }
+
+    @Test
+    public void should_get_all_secrets_with_one_list() throws InterruptedException {
+        server
+            .expect()
+            .get()
+            .withPath("/api/v1/namespaces/test/secrets?limit=500")
+            .andReturn(
+                200,
+                new SecretListBuilder().addToItems(secret1, secret2, secret3).withNewMetadata(null, 0L, "1234", "/selflink").build()
+            )
+            .once();
+
+        KubernetesConfig config = KubernetesConfig.newInstance();
+        config.setApiServerHost(server.getHostName());
+        config.setApiServerPort(server.getPort());
+        config.setVerifyHost(false);
+        config.setBatchListThreshold(2);
+        KubernetesClient client = new KubernetesClientV1Impl(config);
+
+        ResourceQuery<?> query1 = ResourceQuery.from("/test/secrets/secret1/tls.key").build();
+        ResourceQuery<?> query2 = ResourceQuery.from("/test/secrets/secret2/tls.key").build();
+        ResourceQuery<?> missing = ResourceQuery.from("/test/secrets/unknown/tls.key").build();
+
+        final TestObserver<Map<ResourceQuery<?>, Object>> obs = client.getAll(List.of(query1, query2, missing)).test();
+
+        obs.await();
+        obs.assertValue(results -> results.size() == 2 && results.containsKey(query1) && results.containsKey(query2));
+    }
+
+    @Test
+    public void should_only_get_secrets_not_listed_when_the_list_fails(TestContext tc) throws InterruptedException {
+        server
+            .expect()
+            .get()
+            .withPath("/api/v1/namespaces/test/secrets?limit=500")
+            .andReturn(200, new SecretListBuilder().addToItems(secret1).withNewMetadata("next", 1L, "1234", "/selflink").build())
+            .once();
+        server.expect().get().withPath("/api/v1/namespaces/test/secrets?limit=500&continue=next").andReturn(403, "forbidden").once();
+        server.expect().get().withPath("/api/v1/namespaces/test/secrets/secret2").andReturn(200, new SecretBuilder(secret2).build()).once();
+
+        KubernetesConfig config = KubernetesConfig.newInstance();
+        config.setApiServerHost(server.getHostName());
+        config.setApiServerPort(server.getPort());
+        config.setVerifyHost(false);
+        config.setBatchListThreshold(2);
+        KubernetesClient client = new KubernetesClientV1Impl(config);
+
+        ResourceQuery<?> query1 = ResourceQuery.from("/test/secrets/secret1/tls.key").build();
+        ResourceQuery<?> query2 = ResourceQuery.from("/test/secrets/secret2/tls.key").build();
+
+        final TestObserver<Map<ResourceQuery<?>, Object>> obs = client.getAll(List.of(query1, query2)).test();
+
+        obs.await();
+        obs.assertValue(results -> results.size() == 2 && results.containsKey(query1) && results.containsKey(query2));
+        tc.assertEquals(3, server.getRequestCount());
+    }
+
+    @Test
+    public void should_reject_getting_all_secrets_by_selector() throws InterruptedException {
+        ResourceQuery<?> query1 = ResourceQuery.secrets("test").labelSelector(LabelSelector.equals("app", "app1")).build();
+        ResourceQuery<?> query2 = ResourceQuery.secrets("test").labelSelector(LabelSelector.equals("app", "app2")).build();
+
+        final TestObserver<Map<ResourceQuery<?>, Object>> obs = kubernetesClient.getAll(List.of(query1, query2)).test();
+
+        obs.await();
+        obs.assertError(IllegalArgumentException.class);
+    }
+
     @Test
     public void should_get_secret1(TestContext tc) throws InterruptedException {
         server
@@ -109,6 +259,256 @@ public class KubernetesSecretV1Test extends KubernetesUnitTest {
         });
     }
 
+    @Test
+    public void should_give_each_concurrent_get_its_own_secret(TestContext tc) throws InterruptedException {
+        server
+            .expect()
+            .get()
+            .withPath("/api/v1/namespaces/test/secrets/secret1")
+            .andReturn(200, new SecretBuilder(secret1).build())
+            .once();
+
+        var query = ResourceQuery.<io.gravitee.kubernetes.client.model.v1.Secret>from("/test/secrets/secret1").build();
+        final TestObserver<io.gravitee.kubernetes.client.model.v1.Secret> first = kubernetesClient.get(query).test();
+        final TestObserver<io.gravitee.kubernetes.client.model.v1.Secret> second = kubernetesClient.get(query).test();
+
+        first.await();
+        second.await();
+        // One request for both gets, each mutating its secret without affecting the other.
+        tc.assertEquals(1, server.getRequestCount());
+        io.gravitee.kubernetes.client.model.v1.Secret firstSecret = first.values().get(0);
+        io.gravitee.kubernetes.client.model.v1.Secret secondSecret = second.values().get(0);
+        tc.assertFalse(firstSecret == secondSecret);
+        firstSecret.getData().put("tls.key", "changed");
+        tc.assertNotEquals("changed", secondSecret.getData().get("tls.key"));
+    }
+
+    @Test
+    public void should_only_memoize_single_secrets_until_written(TestContext tc) throws InterruptedException {
+        server
+            .expect()
+            .get()
+            .withPath("/api/v1/namespaces/test/secrets")
+            .andReturn(200, new SecretListBuilder().addToItems(secret1, secret2).withNewMetadata(null, 0L, "1234", "/selflink").build())
+            .always();
+        server
+            .expect()
+            .get()
+            .withPath("/api/v1/namespaces/test/secrets/secret1")
+            .andReturn(200, new SecretBuilder(secret1).build())
+            .always();
+        server
+            .expect()
+            .put()
+            .withPath("/api/v1/namespaces/test/secrets/secret1")
+            .andReturn(200, new SecretBuilder(secret1).build())
+            .once();
+
+        KubernetesConfig config = KubernetesConfig.newInstance();
+        config.setApiServerHost(server.getHostName());
+        config.setApiServerPort(server.getPort());
+        config.setVerifyHost(false);
+        config.setGetMemoizationTtl(60_000);
+        KubernetesClient client = new KubernetesClientV1Impl(config);
+
+        // Lists are never memoized, e.g. a relist after a 410 must not get the list the watch started from.
+        client.get(ResourceQuery.secrets("test").build()).test().await().assertValue(list -> list.getItems().size() == 2);
+        client.get(ResourceQuery.secrets("test").build()).test().await().assertValue(list -> list.getItems().size() == 2);
+        tc.assertEquals(2, server.getRequestCount());
+
+        var secretQuery = ResourceQuery.secret("test", "secret1").build();
+        var metadataQuery = ResourceQuery.metadata(Type.SECRETS, "test", "secret1").build();
+        final io.gravitee.kubernetes.client.model.v1.Secret secret = client.get(secretQuery).test().await().values().get(0);
+        client.get(metadataQuery).test().await().assertValueCount(1);
+        client.get(secretQuery).test().await().assertValueCount(1);
+        client.get(metadataQuery).test().await().assertValueCount(1);
+        tc.assertEquals(4, server.getRequestCount());
+
+        // Writing the secret forgets both its memoized gets.
+        client.update(secret).test().await().assertValueCount(1);
+        client.get(secretQuery).test().await().assertValueCount(1);
+        client.get(metadataQuery).test().await().assertValueCount(1);
+        tc.assertEquals(7, server.getRequestCount());
+    }
+
+    @Test
+    public void should_get_secret_on_external_vertx_with_worker_offload() throws InterruptedException {
+        server
+            .expect()
+            .get()
+            .withPath("/api/v1/namespaces/test/secrets/secret1")
+            .andReturn(200, new SecretBuilder(secret1).build())
+            .always();
+
+        KubernetesConfig config = KubernetesConfig.newInstance();
+        config.setApiServerHost(server.getHostName());
+        config.setApiServerPort(server.getPort());
+        config.setVerifyHost(false);
+        config.setWorkerOffload(true);
+        io.vertx.rxjava3.core.Vertx vertx = io.vertx.rxjava3.core.Vertx.vertx();
+
+        try {
+            KubernetesClient client = new KubernetesClientV1Impl(config, vertx);
+            final TestObserver<io.gravitee.kubernetes.client.model.v1.Secret> obs = client
+                .get(ResourceQuery.<io.gravitee.kubernetes.client.model.v1.Secret>from("/test/secrets/secret1").build())
+                .test();
+
+            obs.await();
+            obs.assertValue(secret -> secret.getMetadata().getName().equals("secret1"));
+        } finally {
+            vertx.rxClose().blockingAwait();
+        }
+    }
+
+    @Test
+    public void should_ask_for_protobuf_and_fall_back_to_json(TestContext tc) throws InterruptedException {
+        server
+            .expect()
+            .get()
+            .withPath("/api/v1/namespaces/test/secrets/secret1")
+            .andReturn(200, new SecretBuilder(secret1).build())
+            .always();
+
+        KubernetesConfig config = KubernetesConfig.newInstance();
+        config.setApiServerHost(server.getHostName());
+        config.setApiServerPort(server.getPort());
+        config.setVerifyHost(false);
+        config.setProtobuf(true);
+        KubernetesClient client = new KubernetesClientV1Impl(config);
+
+        final TestObserver<io.gravitee.kubernetes.client.model.v1.Secret> obs = client
+            .get(ResourceQuery.<io.gravitee.kubernetes.client.model.v1.Secret>from("/test/secrets/secret1").build())
+            .test();
+
+        obs.await();
+        obs.assertValue(secret -> secret.getMetadata().getName().equals("secret1"));
+        tc.assertEquals("application/vnd.kubernetes.protobuf, application/json", server.getLastRequest().getHeader("Accept"));
+    }
+
+    @Test
+    public void should_get_metadata_of_secrets(TestContext tc) throws InterruptedException {
+        server
+            .expect()
+            .get()
+            .withPath("/api/v1/namespaces/test/secrets")
+            .andReturn(200, new SecretListBuilder().addToItems(secret1, secret2).withNewMetadata("1", 2L, "1234", "/selflink").build())
+            .once();
+
+        final TestObserver<PartialObjectMetadataList> obs = kubernetesClient
+            .get(ResourceQuery.metadata(Type.SECRETS, "test").build())
+            .test();
+
+        obs.await();
+        obs.assertValue(list -> {
+            tc.assertEquals(2, list.getItems().size());
+            tc.assertEquals("secret1", list.getItems().get(0).getMetadata().getName());
+            tc.assertEquals("1234", list.getMetadata().getResourceVersion());
+            return true;
+        });
+        tc.assertEquals(
+            "application/json;as=PartialObjectMetadataList;g=meta.k8s.io;v=v1, application/json",
+            server.getLastRequest().getHeader("Accept")
+        );
+    }
+
+    @Test
+    public void should_get_secret_from_informer(TestContext tc) throws InterruptedException {
+        server
+            .expect()
+            .get()
+            .withPath("/api/v1/namespaces/test/secrets?limit=500")
+            .andReturn(200, new SecretListBuilder().addToItems(secret1, secret2).withNewMetadata(null, 0L, "1234", "/selflink").build())
+            .always();
+
+        server
+            .expect()
+            .get()
+            .withPath("/api/v1/namespaces/test/secrets?resourceVersion=1234&watch=true&allowWatchBookmarks=true")
+            .andUpgradeToWebSocket()
+            .open()
+            .waitFor(EVENT_WAIT_PERIOD_MS)
+            .andEmit(new WatchEvent(secret3, "ADDED"))
+            .waitFor(EVENT_WAIT_PERIOD_MS)
+            .andEmit(new WatchEvent(incrementResourceVersion(secret2), "DELETED"))
+            .done()
+            .always();
+
+        final Informer<io.gravitee.kubernetes.client.model.v1.Secret> informer = kubernetesClient.informer(
+            WatchQuery.secrets("test").build()
+        );
+
+        for (int i = 0; i < 100 && (informer.store().size() != 2 || informer.store().get("test", "secret3") == null); i++) {
+            Thread.sleep(EVENT_WAIT_PERIOD_MS);
+        }
+
+        // No mock for the single secret endpoints: reads are served by the informer store.
+        final TestObserver<io.gravitee.kubernetes.client.model.v1.Secret> obs = kubernetesClient
+            .get(ResourceQuery.secret("test", "secret3").build())
+            .test();
+        obs.await();
+        obs.assertValue(secret -> secret.getMetadata().getName().equals("secret3"));
+
+        final TestObserver<io.gravitee.kubernetes.client.model.v1.Secret> deleted = kubernetesClient
+            .get(ResourceQuery.secret("test", "secret2").build())
+            .test();
+        deleted.await();
+        deleted.assertError(ResourceNotFoundException.class);
+
+        tc.assertTrue(informer.isSynced());
+        informer.stop();
+    }
+
+    @Test
+    public void should_list_informer_page_by_page_and_stay_synced_on_bookmarks(TestContext tc) throws InterruptedException {
+        server
+            .expect()
+            .get()
+            .withPath("/api/v1/namespaces/test/secrets?limit=2")
+            .andReturn(200, new SecretListBuilder().addToItems(secret1, secret2).withNewMetadata("page2", 1L, "1234", "/selflink").build())
+            .always();
+
+        server
+            .expect()
+            .get()
+            .withPath("/api/v1/namespaces/test/secrets?limit=2&continue=page2")
+            .andReturn(200, new SecretListBuilder().addToItems(secret3).withNewMetadata(null, 0L, "1234", "/selflink").build())
+            .always();
+
+        // A quiet collection: the watch only receives a bookmark.
+        Secret bookmark = new SecretBuilder().withNewMetadata().withResourceVersion("1300").endMetadata().build();
+        server
+            .expect()
+            .get()
+            .withPath("/api/v1/namespaces/test/secrets?resourceVersion=1234&watch=true&allowWatchBookmarks=true")
+            .andUpgradeToWebSocket()
+            .open()
+            .waitFor(200)
+            .andEmit(new WatchEvent(bookmark, "BOOKMARK"))
+            .done()
+            .once();
+
+        KubernetesConfig config = KubernetesConfig.newInstance();
+        config.setApiServerHost(server.getHostName());
+        config.setApiServerPort(server.getPort());
+        config.setVerifyHost(false);
+        config.setListPageSize(2);
+        KubernetesClient client = new KubernetesClientV1Impl(config);
+
+        final Informer<io.gravitee.kubernetes.client.model.v1.Secret> informer = client.informer(WatchQuery.secrets("test").build());
+        for (int i = 0; i < 100 && !informer.isSynced(); i++) {
+            Thread.sleep(EVENT_WAIT_PERIOD_MS);
+        }
+        final long listed = informer.getLastSyncTime();
+        tc.assertEquals(3, informer.store().size());
+
+        for (int i = 0; i < 100 && informer.getLastSyncTime() == listed; i++) {
+            Thread.sleep(EVENT_WAIT_PERIOD_MS);
+        }
+        tc.assertTrue(informer.getLastSyncTime() > listed);
+        tc.assertEquals(3, informer.store().size());
+        informer.stop();
+    }
+
     @Test
     public void should_retrieve_single_key_in_secret(TestContext tc) throws InterruptedException {
         server
@@ -130,6 +530,28 @@ public class KubernetesSecretV1Test extends KubernetesUnitTest {
         });
     }
 
+    @Test
+    public void should_get_decoded_value_of_a_secret_key() throws InterruptedException {
+        server
+            .expect()
+            .get()
+            .withPath("/api/v1/namespaces/test/secrets/secret1")
+            .andReturn(200, new SecretBuilder(secret1).build())
+            .always();
+
+        final TestObserver<ByteBuffer> obs = kubernetesClient.getValue(ResourceQuery.from("/test/secrets/secret1/tls.key").build()).test();
+
+        obs.await();
+        obs.assertValue(value -> value.isReadOnly() && StandardCharsets.UTF_8.decode(value).toString().equals("tls.key"));
+
+        final TestObserver<ByteBuffer> missing = kubernetesClient
+            .getValue(ResourceQuery.from("/test/secrets/secret1/unknown").build())
+            .test();
+
+        missing.await();
+        missing.assertComplete().assertNoValues();
+    }
+
     @Test
     public void should_retrieve_nothing_on_error() throws InterruptedException {
         server.expect().get().withPath("/api/v1/namespaces/test/secrets/secret1").andReturn(404, "not found").always();
@@ -275,6 +697,147 @@ public class KubernetesSecretV1Test extends KubernetesUnitTest {
         obs.assertNotComplete();
     }
 
+    @Test
+    public void should_list_then_watch_and_resume_from_last_resource_version() {
+        Secret modified = buildSecret("test", secret1.getMetadata().getUid(), "secret1", secret1.getData());
+        modified.getMetadata().setResourceVersion("1240");
+
+        server
+            .expect()
+            .get()
+            .withPath("/api/v1/namespaces/test/secrets")
+            .andReturn(200, new SecretListBuilder().addToItems(secret1, secret2).withNewMetadata("1", 2L, "1234", "/selflink").build())
+            .once();
+
+        // First connection starts from the listed resource version and disconnects.
+        server
+            .expect()
+            .get()
+            .withPath("/api/v1/namespaces/test/secrets?resourceVersion=1234&watch=true")
+            .andUpgradeToWebSocket()
+            .open()
+            .waitFor(EVENT_WAIT_PERIOD_MS)
+            .andEmit(new WatchEvent(modified, "MODIFIED"))
+            .done()
+            .once();
+
+        // Second connection resumes from the last seen resource version, no relist.
+        server
+            .expect()
+            .get()
+            .withPath("/api/v1/namespaces/test/secrets?resourceVersion=1240&watch=true")
+            .andUpgradeToWebSocket()
+            .open()
+            .waitFor(EVENT_WAIT_PERIOD_MS)
+            .andEmit(new WatchEvent(secret3, "ADDED"))
+            .done()
+            .once();
+
+        final TestSubscriber<io.gravitee.kubernetes.client.model.v1.Event<io.gravitee.kubernetes.client.model.v1.Secret>> obs =
+            kubernetesClient.watch(WatchQuery.secrets("test").listThenWatch(true).build()).test();
+
+        obs.awaitCount(4);
+        obs.assertValueAt(0, e -> e.getType().equals("ADDED") && e.getObject().getMetadata().getName().equals("secret1"));
+        obs.assertValueAt(1, e -> e.getType().equals("ADDED") && e.getObject().getMetadata().getName().equals("secret2"));
+        obs.assertValueAt(2, e -> e.getType().equals("MODIFIED") && e.getObject().getMetadata().getName().equals("secret1"));
+        obs.assertValueAt(3, e -> e.getType().equals("ADDED") && e.getObject().getMetadata().getName().equals("secret3"));
+    }
+
+    @Test
+    public void should_relist_when_resource_version_is_gone_and_emit_deleted_secrets() {
+        server
+            .expect()
+            .get()
+            .withPath("/api/v1/namespaces/test/secrets")
+            .andReturn(200, new SecretListBuilder().addToItems(secret1, secret2).withNewMetadata("1", 2L, "1234", "/selflink").build())
+            .once();
+
+        server
+            .expect()
+            .get()
+            .withPath("/api/v1/namespaces/test/secrets?resourceVersion=1234&watch=true")
+            .andUpgradeToWebSocket()
+            .open()
+            .waitFor(EVENT_WAIT_PERIOD_MS)
+            .andEmit(new WatchEvent(new StatusBuilder().withCode(410).withMessage("too old resource version").build(), "ERROR"))
+            .done()
+            .once();
+
+        // secret1 did not change and secret2 was deleted while disconnected.
+        server
+            .expect()
+            .get()
+            .withPath("/api/v1/namespaces/test/secrets")
+            .andReturn(200, new SecretListBuilder().addToItems(secret1, secret3).withNewMetadata("1", 2L, "1250", "/selflink").build())
+            .once();
+
+        server
+            .expect()
+            .get()
+            .withPath("/api/v1/namespaces/test/secrets?resourceVersion=1250&watch=true")
+            .andUpgradeToWebSocket()
+            .open()
+            .waitFor(EVENT_WAIT_PERIOD_MS * 50)
+            .andEmit(new WatchEvent(secret3, "MODIFIED"))
+            .done()
+            .once();
+
+        final TestSubscriber<io.gravitee.kubernetes.client.model.v1.Event<io.gravitee.kubernetes.client.model.v1.Secret>> obs =
+            kubernetesClient.watch(WatchQuery.secrets("test").listThenWatch(true).build()).test();
+
+        obs.awaitCount(4);
+        obs.assertValueAt(0, e -> e.getType().equals("ADDED") && e.getObject().getMetadata().getName().equals("secret1"));
+        obs.assertValueAt(1, e -> e.getType().equals("ADDED") && e.getObject().getMetadata().getName().equals("secret2"));
+        obs.assertValueAt(2, e -> e.getType().equals("ADDED") && e.getObject().getMetadata().getName().equals("secret3"));
+        obs.assertValueAt(3, e -> e.getType().equals("DELETED") && e.getObject().getMetadata().getName().equals("secret2"));
+        obs.assertValueCount(4);
+
+        // The unchanged secret1 is still part of the snapshot sent to late subscribers.
+        final TestSubscriber<io.gravitee.kubernetes.client.model.v1.Event<io.gravitee.kubernetes.client.model.v1.Secret>> late =
+            kubernetesClient.watch(WatchQuery.secrets("test").listThenWatch(true).build()).test();
+
+        late.awaitCount(2);
+        late.assertValueAt(0, e -> e.getType().equals("ADDED") && e.getObject().getMetadata().getName().equals("secret1"));
+        late.assertValueAt(1, e -> e.getType().equals("ADDED") && e.getObject().getMetadata().getName().equals("secret3"));
+        late.assertValueCount(2);
+    }
+
+    @Test
+    public void should_resume_from_last_bookmark_without_emitting_it() {
+        Secret bookmark = new SecretBuilder().withNewMetadata().withResourceVersion("1300").endMetadata().build();
+
+        // First connection only receives a bookmark and disconnects.
+        server
+            .expect()
+            .get()
+            .withPath("/api/v1/namespaces/test/secrets?watch=true&allowWatchBookmarks=true")
+            .andUpgradeToWebSocket()
+            .open()
+            .waitFor(EVENT_WAIT_PERIOD_MS)
+            .andEmit(new WatchEvent(bookmark, "BOOKMARK"))
+            .done()
+            .once();
+
+        // Second connection resumes from the bookmark.
+        server
+            .expect()
+            .get()
+            .withPath("/api/v1/namespaces/test/secrets?resourceVersion=1300&watch=true&allowWatchBookmarks=true")
+            .andUpgradeToWebSocket()
+            .open()
+            .waitFor(EVENT_WAIT_PERIOD_MS)
+            .andEmit(new WatchEvent(secret3, "ADDED"))
+            .done()
+            .once();
+
+        final TestSubscriber<io.gravitee.kubernetes.client.model.v1.Event<io.gravitee.kubernetes.client.model.v1.Secret>> obs =
+            kubernetesClient.watch(WatchQuery.secrets("test").allowWatchBookmarks(true).build()).test();
+
+        obs.awaitCount(1);
+        obs.assertValueCount(1);
+        obs.assertValueAt(0, e -> e.getType().equals("ADDED") && e.getObject().getMetadata().getName().equals("secret3"));
+    }
+
     @Test
     public void should_watch_specified_secret_using_dsl() throws InterruptedException {
         server
@@ -328,9 +891,10 @@ public class KubernetesSecretV1Test extends KubernetesUnitTest {
     }
 
     @Test
-    public void should_watch_once_on_same_secret_with_late_subscriber() throws InterruptedException {
+    public void should_watch_once_on_same_secret_with_late_subscriber(TestContext tc) throws InterruptedException {
         // KubernetesMockServer does not allow for real sequencing triggering of events. All events are sent all in once when calling done() method.
         // For this specific test, we use 2 server mocks to allow for the second subscriber to subscribe later and simulate event loss.
+        final Secret modified = incrementResourceVersion(secret1);
         server
             .expect()
             .get()
@@ -347,21 +911,87 @@ public class KubernetesSecretV1Test extends KubernetesUnitTest {
             .andUpgradeToWebSocket()
             .open()
             .waitFor(EVENT_WAIT_PERIOD_MS)
-            .andEmit(new WatchEvent(incrementResourceVersion(secret1), "MODIFIED"))
+            .andEmit(new WatchEvent(modified, "MODIFIED"))
             .done()
             .once();
 
-        var watch1 = kubernetesClient.watch(
-            WatchQuery.<io.gravitee.kubernetes.client.model.v1.Secret>from("/test/secrets/secret1").build()
-        );
-        var watch2 = kubernetesClient.watch(
-            WatchQuery.<io.gravitee.kubernetes.client.model.v1.Secret>from("/test/secrets/secret1").build()
+        var watch1 = kubernetesClient
+            .watch(WatchQuery.<io.gravitee.kubernetes.client.model.v1.Secret>from("/test/secrets/secret1").build())
+            .test();
+        var watch2 = kubernetesClient
+            .watch(WatchQuery.<io.gravitee.kubernetes.client.model.v1.Secret>from("/test/secrets/secret1").build())
+            .delaySubscription(500, TimeUnit.MILLISECONDS)
+            .test();
+
+        watch1.await();
+        watch2.await();
+        watch1.assertValueCount(2);
+        watch1.assertNotComplete();
+
+        // The late subscriber starts from the current state of the secret instead of its history.
+        var events = watch2.values();
+        tc.assertEquals("ADDED", events.get(0).getType());
+        tc.assertEquals(
+            modified.getMetadata().getResourceVersion(),
+            events.get(events.size() - 1).getObject().getMetadata().getResourceVersion()
         );
+        watch2.assertNotComplete();
+    }
 
-        var obs = Flowable.merge(List.of(watch1, watch2.delaySubscription(500, TimeUnit.MILLISECONDS))).test();
-        obs.await();
-        obs.assertValueCount(4);
-        obs.assertNotComplete();
+    @Test
+    public void should_not_replay_deleted_secret_to_late_subscriber() throws InterruptedException {
+        Secret deleted = buildSecret("test", secret1.getMetadata().getUid(), "secret1", secret1.getData());
+        deleted.getMetadata().setResourceVersion("1240");
+
+        server
+            .expect()
+            .get()
+            .withPath("/api/v1/namespaces/test/secrets?watch=true")
+            .andUpgradeToWebSocket()
+            .open(new WatchEvent(secret1, "ADDED"), new WatchEvent(secret2, "ADDED"), new WatchEvent(deleted, "DELETED"))
+            .waitFor(EVENT_WAIT_PERIOD_MS * 50)
+            .andEmit(new WatchEvent(secret3, "ADDED"))
+            .done()
+            .once();
+
+        var watch1 = kubernetesClient.watch(WatchQuery.secrets("test").build()).test();
+        watch1.awaitCount(3);
+
+        var watch2 = kubernetesClient.watch(WatchQuery.secrets("test").build()).test();
+        watch2.awaitCount(2);
+        watch2.assertValueAt(0, e -> e.getType().equals("ADDED") && e.getObject().getMetadata().getName().equals("secret2"));
+        watch2.assertValueAt(1, e -> e.getType().equals("ADDED") && e.getObject().getMetadata().getName().equals("secret3"));
+        watch2.assertValueCount(2);
+    }
+
+    @Test
+    public void should_not_keep_snapshot_of_watch_with_more_objects_than_the_max_size() throws InterruptedException {
+        server
+            .expect()
+            .get()
+            .withPath("/api/v1/namespaces/test/secrets?watch=true")
+            .andUpgradeToWebSocket()
+            .open(new WatchEvent(secret1, "ADDED"), new WatchEvent(secret2, "ADDED"))
+            .waitFor(EVENT_WAIT_PERIOD_MS * 50)
+            .andEmit(new WatchEvent(secret3, "ADDED"))
+            .done()
+            .once();
+
+        KubernetesConfig config = KubernetesConfig.newInstance();
+        config.setApiServerHost(server.getHostName());
+        config.setApiServerPort(server.getPort());
+        config.setVerifyHost(false);
+        config.setWatchSnapshotMaxSize(1);
+        KubernetesClient client = new KubernetesClientV1Impl(config);
+
+        var watch1 = client.watch(WatchQuery.secrets("test").build()).test();
+        watch1.awaitCount(2);
+
+        // Two secrets exceed the snapshot, the late subscriber only receives the live events.
+        var watch2 = client.watch(WatchQuery.secrets("test").build()).test();
+        watch2.awaitCount(1);
+        watch2.assertValueAt(0, e -> e.getType().equals("ADDED") && e.getObject().getMetadata().getName().equals("secret3"));
+        watch2.assertValueCount(1);
     }
 
     @Test
@@ -563,6 +1193,61 @@ public class KubernetesSecretV1Test extends KubernetesUnitTest {
         obs.assertError(Exception.class);
     }
 
+    @Test
+    public void should_resume_watch_once_the_api_server_is_back() throws Exception {
+        final String path = "/api/v1/namespaces/test/secrets?fieldSelector=metadata.name%3Dsecret1&watch=true";
+        server
+            .expect()
+            .get()
+            .withPath(path)
+            .andUpgradeToWebSocket()
+            .open()
+            .waitFor(EVENT_WAIT_PERIOD_MS)
+            .andEmit(new WatchEvent(secret1, "ADDED"))
+            .done()
+            .always();
+
+        KubernetesConfig config = KubernetesConfig.newInstance();
+        config.setApiServerHost(server.getHostName());
+        config.setApiServerPort(server.getPort());
+        config.setVerifyHost(false);
+        config.setWatchReconnectInitialDelay(10);
+        config.setWatchReconnectMaxDelay(50);
+        config.setWatchReconnectFailureThreshold(0);
+        KubernetesClient client = new KubernetesClientV1Impl(config);
+
+        final TestSubscriber<io.gravitee.kubernetes.client.model.v1.Event<io.gravitee.kubernetes.client.model.v1.Secret>> obs = client
+            .watch(WatchQuery.<io.gravitee.kubernetes.client.model.v1.Secret>from("/test/secrets/secret1").build())
+            .test();
+        obs.awaitCount(1);
+        obs.assertValueAt(0, secretEvent -> secretEvent.getType().equalsIgnoreCase("ADDED"));
+
+        // The API server goes down once the watch is established, reconnections failing to connect for a while.
+        final String host = server.getHostName();
+        final int port = server.getPort();
+        server.shutdown();
+        Thread.sleep(300);
+        obs.assertNoErrors();
+
+        server = new KubernetesMockServer(true);
+        server.init(InetAddress.getByName(host), port);
+        server
+            .expect()
+            .get()
+            .withPath(path)
+            .andUpgradeToWebSocket()
+            .open()
+            .waitFor(EVENT_WAIT_PERIOD_MS)
+            .andEmit(new WatchEvent(incrementResourceVersion(secret1), "MODIFIED"))
+            .done()
+            .always();
+
+        obs.awaitCount(obs.values().size() + 1);
+        obs.assertNoErrors();
+        obs.assertValueAt(obs.values().size() - 1, secretEvent -> secretEvent.getType().equalsIgnoreCase("MODIFIED"));
+        obs.cancel();
+    }
+
     @Test
     public void should_create_secret(TestContext tc) throws InterruptedException {
         io.gravitee.kubernetes.client.model.v1.Secret secret = new io.gravitee.kubernetes.client.model.v1.Secret();
@@ -593,6 +1278,112 @@ public class KubernetesSecretV1Test extends KubernetesUnitTest {
         });
     }
 
+    @Test
+    public void should_multiplex_watches_on_the_same_namespace() throws InterruptedException {
+        // Only one connection is expected for both watches.
+        server
+            .expect()
+            .get()
+            .withPath("/api/v1/namespaces/test/secrets?watch=true")
+            .andUpgradeToWebSocket()
+            .open()
+            .waitFor(EVENT_WAIT_PERIOD_MS)
+            .andEmit(new WatchEvent(secret1, "ADDED"))
+            .waitFor(EVENT_WAIT_PERIOD_MS)
+            .andEmit(new WatchEvent(secret2, "ADDED"))
+            .waitFor(EVENT_WAIT_PERIOD_MS)
+            .andEmit(new WatchEvent(secret3, "ADDED"))
+            .waitFor(EVENT_WAIT_PERIOD_MS)
+            .andEmit(new WatchEvent(incrementResourceVersion(secret1), "MODIFIED"))
+            .done()
+            .once();
+
+        KubernetesConfig config = KubernetesConfig.newInstance();
+        config.setApiServerHost(server.getHostName());
+        config.setApiServerPort(server.getPort());
+        config.setVerifyHost(false);
+        config.setWatchMultiplexing(true);
+        KubernetesClient client = new KubernetesClientV1Impl(config);
+
+        final TestSubscriber<io.gravitee.kubernetes.client.model.v1.Event<io.gravitee.kubernetes.client.model.v1.Secret>> obs1 =
+            client.watch(WatchQuery.secret("test", "secret1").build()).test();
+        final TestSubscriber<io.gravitee.kubernetes.client.model.v1.Event<io.gravitee.kubernetes.client.model.v1.Secret>> obs2 =
+            client.watch(WatchQuery.secret("test", "secret2").build()).test();
+
+        obs1.awaitCount(2);
+        obs2.awaitCount(1);
+        obs1.assertValueAt(0, e -> e.getType().equals("ADDED") && e.getObject().getMetadata().getName().equals("secret1"));
+        obs1.assertValueAt(1, e -> e.getType().equals("MODIFIED") && e.getObject().getMetadata().getName().equals("secret1"));
+        obs1.assertValueCount(2);
+        obs2.assertValue(e -> e.getType().equals("ADDED") && e.getObject().getMetadata().getName().equals("secret2"));
+        obs1.assertNoErrors();
+        obs2.assertNoErrors();
+    }
+
+    @Test
+    public void should_watch_secrets_as_streaming_get_with_http2(TestContext tc) throws InterruptedException {
+        server
+            .expect()
+            .get()
+            .withPath("/api/v1/namespaces/test/secrets?watch=true")
+            .andReturnChunked(
+                200,
+                Serialization.asJson(new WatchEvent(secret1, "ADDED")) + "\n",
+                Serialization.asJson(new WatchEvent(secret2, "ADDED")) + "\n"
+            )
+            .once();
+
+        KubernetesConfig config = KubernetesConfig.newInstance();
+        config.setApiServerHost(server.getHostName());
+        config.setApiServerPort(server.getPort());
+        config.setVerifyHost(false);
+        config.setHttp2(true);
+        KubernetesClientV1Impl client = new KubernetesClientV1Impl(config);
+
+        final TestSubscriber<io.gravitee.kubernetes.client.model.v1.Event<io.gravitee.kubernetes.client.model.v1.Secret>> obs =
+            client.watch(WatchQuery.<io.gravitee.kubernetes.client.model.v1.Secret>from("/test/secrets").build()).test();
+
+        obs.awaitCount(2);
+        obs.assertValueAt(0, e -> e.getType().equals("ADDED") && e.getObject().getMetadata().getName().equals("secret1"));
+        obs.assertValueAt(1, e -> e.getType().equals("ADDED") && e.getObject().getMetadata().getName().equals("secret2"));
+        // Negotiated with ALPN, the watch is an HTTP/2 stream.
+        tc.assertEquals(1L, client.metrics().getStreamedWatches());
+    }
+
+    @Test
+    public void should_watch_secrets_over_websockets_when_http2_is_not_negotiated(TestContext tc) {
+        KubernetesMockServer http1Server = new KubernetesMockServer(false);
+        http1Server.init();
+        try {
+            http1Server
+                .expect()
+                .get()
+                .withPath("/api/v1/namespaces/test/secrets?watch=true")
+                .andUpgradeToWebSocket()
+                .open(new WatchEvent(secret1, "ADDED"))
+                .done()
+                .once();
+
+            KubernetesConfig config = KubernetesConfig.newInstance();
+            config.setApiServerHost(http1Server.getHostName());
+            config.setApiServerPort(http1Server.getPort());
+            config.setUseSSL(false);
+            config.setHttp2(true);
+            KubernetesClientV1Impl client = new KubernetesClientV1Impl(config);
+
+            final TestSubscriber<io.gravitee.kubernetes.client.model.v1.Event<io.gravitee.kubernetes.client.model.v1.Secret>> obs =
+                client.watch(WatchQuery.<io.gravitee.kubernetes.client.model.v1.Secret>from("/test/secrets").build()).test();
+
+            obs.awaitCount(1);
+            obs.assertValueAt(0, e -> e.getType().equals("ADDED") && e.getObject().getMetadata().getName().equals("secret1"));
+            // No pooled connection is held by the watch.
+            tc.assertEquals(0L, client.metrics().getStreamedWatches());
+            tc.assertEquals(0, client.metrics().getInUse());
+        } finally {
+            http1Server.destroy();
+        }
+    }
+
     protected Secret buildSecret(String namespace, String uid, String name, Map<String, String> data) {
         ObjectMeta metadata = new ObjectMeta();
         metadata.setNamespace(namespace);
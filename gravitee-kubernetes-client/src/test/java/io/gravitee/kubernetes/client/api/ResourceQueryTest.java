@@ -15,6 +15,8 @@
  */
 package io.gravitee.kubernetes.client.api;
 
+import io.gravitee.kubernetes.client.model.v1.PartialObjectMetadata;
+import io.gravitee.kubernetes.client.model.v1.PartialObjectMetadataList;
 import io.gravitee.kubernetes.client.model.v1.Secret;
 import io.gravitee.kubernetes.client.model.v1.SecretList;
 import org.junit.jupiter.api.Assertions;
@@ -68,4 +70,46 @@ class ResourceQueryTest {
 
         Assertions.assertEquals("/api/v1/namespaces/my-namespace/secrets?fieldSelector=status.hostIP%3D172.17.8.101", query.toUri());
     }
+
+    @Test
+    void should_get_page_of_secrets_from_namespace() {
+        ResourceQuery<SecretList> query = ResourceQuery.secrets("my-namespace")
+            .limit(100)
+            .continueToken("eyJ2IjoibWV0YS5rOHMuaW8vdjEifQ==")
+            .build();
+
+        Assertions.assertEquals(
+            "/api/v1/namespaces/my-namespace/secrets?limit=100&continue=eyJ2IjoibWV0YS5rOHMuaW8vdjEifQ%3D%3D",
+            query.toUri()
+        );
+    }
+
+    @Test
+    void should_only_keep_resource_version_on_first_page() {
+        ResourceQuery<SecretList> query = ResourceQuery.secrets("my-namespace").resourceVersion("1234").build();
+
+        Assertions.assertEquals(
+            "/api/v1/namespaces/my-namespace/secrets?resourceVersion=1234&limit=100",
+            query.withPage(100, null).toUri()
+        );
+        Assertions.assertEquals("/api/v1/namespaces/my-namespace/secrets?limit=100&continue=next", query.withPage(100, "next").toUri());
+    }
+
+    @Test
+    void should_get_metadata_of_secrets_from_namespace() {
+        ResourceQuery<PartialObjectMetadataList> query = ResourceQuery.metadata(Type.SECRETS, "my-namespace").build();
+
+        Assertions.assertEquals("/api/v1/namespaces/my-namespace/secrets", query.toUri());
+        Assertions.assertEquals(PartialObjectMetadataList.class, query.getType());
+        Assertions.assertEquals(PartialObjectMetadataList.class, query.collection().getType());
+        Assertions.assertNotEquals(ResourceQuery.secrets("my-namespace").build(), query);
+    }
+
+    @Test
+    void should_get_metadata_of_a_secret() {
+        ResourceQuery<PartialObjectMetadata> query = ResourceQuery.metadata(Type.SECRETS, "my-namespace", "my-secret").build();
+
+        Assertions.assertEquals("/api/v1/namespaces/my-namespace/secrets/my-secret", query.toUri());
+        Assertions.assertEquals(PartialObjectMetadata.class, query.getType());
+    }
 }
@@ -16,8 +16,13 @@
 package io.gravitee.kubernetes.client.api;
 
 import io.gravitee.kubernetes.client.model.v1.Event;
+import io.gravitee.kubernetes.client.model.v1.ObjectMeta;
+import io.gravitee.kubernetes.client.model.v1.PartialObjectMetadata;
+import io.gravitee.kubernetes.client.model.v1.PartialObjectMetadataEvent;
 import io.gravitee.kubernetes.client.model.v1.Secret;
 import org.junit.jupiter.api.Assertions;
+import java.time.Duration;
+import java.util.Map;
 import org.junit.jupiter.api.Test;
 
 /**
@@ -68,4 +73,86 @@ class WatchQueryTest {
             query.toUri()
         );
     }
+
+    @Test
+    void shouldSelectResourcesClientSide() {
+        WatchQuery<Event<Secret>> query = WatchQuery.secret("my-namespace", "my-secret-name")
+            .labelSelector(LabelSelector.equals("app", "gateway"))
+            .build();
+
+        Assertions.assertTrue(query.isClientSideSelectable());
+        Assertions.assertTrue(query.selects(metadata("my-secret-name", Map.of("app", "gateway"))));
+        Assertions.assertFalse(query.selects(metadata("my-secret-name", Map.of("app", "ui"))));
+        Assertions.assertFalse(query.selects(metadata("other-secret", Map.of("app", "gateway"))));
+        Assertions.assertEquals("/api/v1/namespaces/my-namespace/secrets?watch=true", query.withoutSelectors().toUri());
+    }
+
+    @Test
+    void shouldNotSelectResourcesClientSideOnOtherFields() {
+        WatchQuery<Event<Secret>> query = WatchQuery.secrets("my-namespace").fieldSelector(FieldSelector.equals("type", "Opaque")).build();
+
+        Assertions.assertFalse(query.isClientSideSelectable());
+    }
+
+    @Test
+    void shouldShareWatchKeyRegardlessOfSelectorsOrder() {
+        WatchQuery<Event<Secret>> query1 = WatchQuery.secrets("my-namespace")
+            .labelSelector(LabelSelector.equals("app", "gateway"))
+            .labelSelector(LabelSelector.notEquals("tier", "ui"))
+            .build();
+        WatchQuery<Event<Secret>> query2 = WatchQuery.secrets("my-namespace")
+            .labelSelector(LabelSelector.notEquals("tier", "ui"))
+            .labelSelector(LabelSelector.equals("app", "gateway"))
+            .build();
+
+        Assertions.assertEquals(query1.watchKey(), query2.watchKey());
+    }
+
+    @Test
+    void shouldNotShareWatchKeyBetweenDifferentQueries() {
+        WatchQuery<Event<Secret>> query = WatchQuery.secrets("my-namespace").build();
+
+        Assertions.assertNotEquals(query.watchKey(), WatchQuery.secrets("other-namespace").build().watchKey());
+        Assertions.assertNotEquals(query.watchKey(), WatchQuery.configMaps("my-namespace").build().watchKey());
+        Assertions.assertNotEquals(query.watchKey(), WatchQuery.secrets("my-namespace").allowWatchBookmarks(true).build().watchKey());
+        Assertions.assertNotEquals(
+            WatchQuery.secrets("my-namespace").allowWatchBookmarks(true).build().watchKey(),
+            query.withBookmarks().watchKey()
+        );
+        Assertions.assertNotEquals(query.watchKey(), WatchQuery.secrets("my-namespace").listThenWatch(true).build().watchKey());
+        Assertions.assertNotEquals(query.watchKey(), query.withResourceVersion("42").watchKey());
+        Assertions.assertNotEquals(query.watchKey(), WatchQuery.secret("my-namespace", "my-secret").build().watchKey());
+        Assertions.assertNotEquals(query.watchKey(), WatchQuery.metadata(Type.SECRETS, "my-namespace").build().watchKey());
+    }
+
+    @Test
+    void shouldShareWatchKeyWhateverTheSubscriberBuffer() {
+        WatchQuery<Event<Secret>> query = WatchQuery.secrets("my-namespace")
+            .buffer(100, OverflowPolicy.CONFLATE_BY_KEY)
+            .conflate(Duration.ofMillis(200))
+            .build();
+
+        Assertions.assertEquals(WatchQuery.secrets("my-namespace").build().watchKey(), query.watchKey());
+        Assertions.assertEquals(WatchQuery.secrets("my-namespace").build(), query);
+        Assertions.assertEquals(100, query.withResourceVersion("42").getBufferSize());
+        Assertions.assertEquals(200, query.withResourceVersion("42").getConflationWindow());
+    }
+
+    @Test
+    void shouldWatchSecretsMetadata() {
+        WatchQuery<Event<PartialObjectMetadata>> query = WatchQuery.metadata(Type.SECRETS, "my-namespace").build();
+
+        Assertions.assertEquals("/api/v1/namespaces/my-namespace/secrets?watch=true", query.toUri());
+        Assertions.assertEquals(PartialObjectMetadataEvent.class, query.getEventType());
+        Assertions.assertEquals(PartialObjectMetadata.class, query.objectType());
+        Assertions.assertTrue(ResourceQuery.from(query).build().isMetadataOnly());
+    }
+
+    private static ObjectMeta metadata(String name, Map<String, String> labels) {
+        ObjectMeta metadata = new ObjectMeta();
+        metadata.setNamespace("my-namespace");
+        metadata.setName(name);
+        metadata.setLabels(labels);
+        return metadata;
+    }
 }
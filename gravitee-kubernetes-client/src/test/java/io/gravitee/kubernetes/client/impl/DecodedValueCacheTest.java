@@ -0,0 +1,247 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.kubernetes.client.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.gravitee.kubernetes.client.model.v1.ConfigMap;
+import io.gravitee.kubernetes.client.model.v1.EndpointSlice;
+import io.gravitee.kubernetes.client.model.v1.ObjectMeta;
+import io.gravitee.kubernetes.client.model.v1.Secret;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+class DecodedValueCacheTest {
+
+    private final DecodedValueCache cache = new DecodedValueCache();
+
+    @Test
+    void should_decode_secret_values() {
+        Secret secret = secret("1", Map.of("tls.key", "dHNsLmtleQ=="));
+
+        assertThat(text(cache.get(secret, "tls.key"))).isEqualTo("tls.key");
+        assertThat(cache.get(secret, "unknown")).isNull();
+    }
+
+    @Test
+    void should_read_config_map_values() {
+        ConfigMap configMap = new ConfigMap();
+        configMap.setMetadata(metadata("1"));
+        configMap.setData(Map.of("host", "localhost"));
+        configMap.setBinaryData(Map.of("cert", "Y2VydA=="));
+
+        assertThat(text(cache.get(configMap, "host"))).isEqualTo("localhost");
+        assertThat(text(cache.get(configMap, "cert"))).isEqualTo("cert");
+    }
+
+    @Test
+    void should_reuse_decoded_value_of_the_same_resource_version() {
+        Map<String, String> data = new HashMap<>(Map.of("tls.key", "dHNsLmtleQ=="));
+        Secret secret = secret("1", data);
+        ByteBuffer first = cache.get(secret, "tls.key");
+
+        // Same resource version, the value is not decoded again.
+        data.put("tls.key", "b3RoZXI=");
+        ByteBuffer second = cache.get(secret, "tls.key");
+
+        assertThat(text(first)).isEqualTo("tls.key");
+        assertThat(text(second)).isEqualTo("tls.key");
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    void should_decode_again_on_new_resource_version() {
+        cache.get(secret("1", Map.of("tls.key", "dHNsLmtleQ==")), "tls.key");
+
+        assertThat(text(cache.get(secret("2", Map.of("tls.key", "b3RoZXI=")), "tls.key"))).isEqualTo("other");
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    void should_return_independent_read_only_buffers() {
+        Secret secret = secret("1", Map.of("tls.key", "dHNsLmtleQ=="));
+
+        ByteBuffer first = cache.get(secret, "tls.key");
+        first.get();
+        ByteBuffer second = cache.get(secret, "tls.key");
+
+        assertThat(first.isReadOnly()).isTrue();
+        assertThat(second.position()).isZero();
+    }
+
+    @Test
+    void should_evict_least_recently_read_resources() {
+        DecodedValueCache bounded = new DecodedValueCache(1, false);
+
+        bounded.get(secret("secret1", "1", Map.of("tls.key", "dHNsLmtleQ==")), "tls.key");
+        bounded.get(secret("secret2", "1", Map.of("tls.key", "dHNsLmtleQ==")), "tls.key");
+
+        assertThat(bounded.size()).isEqualTo(1);
+    }
+
+    @Test
+    void should_keep_values_off_heap() {
+        DecodedValueCache offHeap = new DecodedValueCache(0, true);
+
+        ByteBuffer value = offHeap.get(secret("1", Map.of("tls.key", "dHNsLmtleQ==")), "tls.key");
+
+        assertThat(value.isDirect()).isTrue();
+        assertThat(value.isReadOnly()).isTrue();
+        assertThat(text(value)).isEqualTo("tls.key");
+    }
+
+    @Test
+    void should_zero_off_heap_values_on_release() {
+        DecodedValueCache offHeap = new DecodedValueCache(0, true);
+        Secret secret = secret("1", Map.of("tls.key", "dHNsLmtleQ=="));
+        ByteBuffer value = offHeap.get(secret, "tls.key");
+
+        offHeap.release(secret);
+
+        assertThat(offHeap.size()).isZero();
+        assertThat(isZeroed(value)).isTrue();
+    }
+
+    @Test
+    void should_zero_off_heap_values_on_new_resource_version() {
+        DecodedValueCache offHeap = new DecodedValueCache(0, true);
+        ByteBuffer value = offHeap.get(secret("1", Map.of("tls.key", "dHNsLmtleQ==")), "tls.key");
+
+        ByteBuffer updated = offHeap.get(secret("2", Map.of("tls.key", "b3RoZXI=")), "tls.key");
+
+        assertThat(isZeroed(value)).isTrue();
+        assertThat(text(updated)).isEqualTo("other");
+    }
+
+    @Test
+    void should_keep_the_newer_resource_version_decoded_last() {
+        DecodedValueCache offHeap = new DecodedValueCache(0, true);
+        ByteBuffer updated = offHeap.get(secret("2", Map.of("tls.key", "b3RoZXI=")), "tls.key");
+
+        // A slower read of the previous version ends after the new one has been cached.
+        ByteBuffer value = offHeap.get(secret("1", Map.of("tls.key", "dHNsLmtleQ==")), "tls.key");
+
+        assertThat(text(value)).isEqualTo("tls.key");
+        assertThat(isZeroed(updated)).isFalse();
+        assertThat(text(offHeap.get(secret("2", Map.of("tls.key", "b3RoZXI=")), "tls.key"))).isEqualTo("other");
+    }
+
+    @Test
+    void should_zero_off_heap_values_on_eviction() {
+        DecodedValueCache offHeap = new DecodedValueCache(1, true);
+        ByteBuffer value = offHeap.get(secret("secret1", "1", Map.of("tls.key", "dHNsLmtleQ==")), "tls.key");
+
+        offHeap.get(secret("secret2", "1", Map.of("tls.key", "dHNsLmtleQ==")), "tls.key");
+
+        assertThat(isZeroed(value)).isTrue();
+    }
+
+    @Test
+    void should_not_zero_off_heap_values_decoded_concurrently() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            for (int round = 0; round < 50; round++) {
+                DecodedValueCache offHeap = new DecodedValueCache(0, true);
+                Secret secret = secret("1", Map.of("tls.key", "dHNsLmtleQ=="));
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<ByteBuffer>> values = new ArrayList<>();
+                for (int i = 0; i < 8; i++) {
+                    values.add(
+                        executor.submit(() -> {
+                            start.await();
+                            return offHeap.get(secret, "tls.key");
+                        })
+                    );
+                }
+                start.countDown();
+
+                for (Future<ByteBuffer> value : values) {
+                    assertThat(text(value.get(5, TimeUnit.SECONDS))).isEqualTo("tls.key");
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void should_not_zero_heap_values_on_release() {
+        Secret secret = secret("1", Map.of("tls.key", "dHNsLmtleQ=="));
+        ByteBuffer value = cache.get(secret, "tls.key");
+
+        cache.release(secret);
+
+        assertThat(text(value)).isEqualTo("tls.key");
+    }
+
+    @Test
+    void should_reject_other_resources() {
+        EndpointSlice endpointSlice = new EndpointSlice();
+        endpointSlice.setMetadata(metadata("1"));
+
+        assertThatThrownBy(() -> cache.get(endpointSlice, "key")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static Secret secret(String resourceVersion, Map<String, String> data) {
+        return secret("resource", resourceVersion, data);
+    }
+
+    private static Secret secret(String name, String resourceVersion, Map<String, String> data) {
+        Secret secret = new Secret();
+        secret.setMetadata(metadata(name, resourceVersion));
+        secret.setData(data);
+        return secret;
+    }
+
+    private static ObjectMeta metadata(String resourceVersion) {
+        return metadata("resource", resourceVersion);
+    }
+
+    private static ObjectMeta metadata(String name, String resourceVersion) {
+        ObjectMeta metadata = new ObjectMeta();
+        metadata.setNamespace("test");
+        metadata.setName(name);
+        metadata.setResourceVersion(resourceVersion);
+        return metadata;
+    }
+
+    private static String text(ByteBuffer value) {
+        return StandardCharsets.UTF_8.decode(value).toString();
+    }
+
+    private static boolean isZeroed(ByteBuffer value) {
+        for (int i = 0; i < value.capacity(); i++) {
+            if (value.get(i) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -43,4 +43,26 @@ class HttpClientConfigurationTest {
         assertThatCode(kubernetesClientV1::httpClient).doesNotThrowAnyException();
         assertThatCode(kubernetesClientV1::webSocketClient).doesNotThrowAnyException();
     }
+
+    @Test
+    void should_load_a_client_with_http2() {
+        KubernetesConfig config = KubernetesConfig.newInstance("src/test/resources/config.yaml");
+        config.setHttp2(true);
+        config.setHttp2MaxPoolSize(4);
+        config.setHttp2MultiplexingLimit(100);
+        KubernetesClientV1Impl kubernetesClientV1 = new KubernetesClientV1Impl(config);
+        assertThatCode(kubernetesClientV1::httpClient).doesNotThrowAnyException();
+    }
+
+    @Test
+    void should_load_a_client_with_pool_settings() {
+        KubernetesConfig config = KubernetesConfig.newInstance("src/test/resources/config.yaml");
+        config.setMaxPoolSize(50);
+        config.setMaxWaitQueueSize(5000);
+        config.setKeepAliveTimeout(30);
+        config.setPipelining(true);
+        KubernetesClientV1Impl kubernetesClientV1 = new KubernetesClientV1Impl(config);
+        assertThatCode(kubernetesClientV1::httpClient).doesNotThrowAnyException();
+        assertThat(kubernetesClientV1.metrics().getInUse()).isZero();
+    }
 }
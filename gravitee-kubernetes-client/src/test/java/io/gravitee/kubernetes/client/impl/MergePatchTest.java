@@ -0,0 +1,62 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.kubernetes.client.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+class MergePatchTest {
+
+    @Test
+    void should_only_hold_changed_fields() {
+        JsonObject source = new JsonObject()
+            .put("metadata", new JsonObject().put("name", "my-config").put("labels", new JsonObject().put("app", "gateway")))
+            .put("data", new JsonObject().put("host", "localhost").put("port", "8080").put("large", "unchanged"));
+        JsonObject target = source.copy();
+        target.getJsonObject("data").put("port", "8443");
+
+        assertThat(MergePatch.diff(source, target)).isEqualTo(new JsonObject().put("data", new JsonObject().put("port", "8443")));
+    }
+
+    @Test
+    void should_remove_fields_missing_from_target() {
+        JsonObject source = new JsonObject().put("data", new JsonObject().put("host", "localhost").put("port", "8080"));
+        JsonObject target = new JsonObject().put("data", new JsonObject().put("host", "localhost"));
+
+        assertThat(MergePatch.diff(source, target)).isEqualTo(new JsonObject().put("data", new JsonObject().putNull("port")));
+    }
+
+    @Test
+    void should_replace_arrays() {
+        JsonObject source = new JsonObject().put("finalizers", new JsonArray().add("a").add("b"));
+        JsonObject target = new JsonObject().put("finalizers", new JsonArray().add("a"));
+
+        assertThat(MergePatch.diff(source, target)).isEqualTo(new JsonObject().put("finalizers", new JsonArray().add("a")));
+    }
+
+    @Test
+    void should_be_empty_without_changes() {
+        JsonObject source = new JsonObject().put("data", new JsonObject().put("host", "localhost"));
+
+        assertThat(MergePatch.diff(source, source.copy()).isEmpty()).isTrue();
+    }
+}
@@ -0,0 +1,249 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.kubernetes.client.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.gravitee.kubernetes.client.model.v1.ConfigMap;
+import io.gravitee.kubernetes.client.model.v1.EndpointSlice;
+import io.gravitee.kubernetes.client.model.v1.EndpointSliceEvent;
+import io.gravitee.kubernetes.client.model.v1.Secret;
+import io.gravitee.kubernetes.client.model.v1.SecretEvent;
+import io.gravitee.kubernetes.client.model.v1.SecretList;
+import io.vertx.core.buffer.Buffer;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+class ProtobufDecoderTest {
+
+    private static final byte[] MAGIC = { 'k', '8', 's', 0 };
+
+    @Test
+    void should_decode_secret() {
+        Secret secret = ProtobufDecoder.decode(envelope("Secret", secret("secret1", "42")), Secret.class);
+
+        assertThat(secret.getMetadata().getName()).isEqualTo("secret1");
+        assertThat(secret.getMetadata().getNamespace()).isEqualTo("test");
+        assertThat(secret.getMetadata().getResourceVersion()).isEqualTo("42");
+        assertThat(secret.getMetadata().getLabels()).containsEntry("app", "gateway");
+        assertThat(secret.getMetadata().getCreationTimestamp()).isEqualTo("2023-01-01T00:00:00Z");
+        // Bytes are base64 encoded, as in JSON.
+        assertThat(secret.getData()).containsEntry("tls.key", "dHNsLmtleQ==");
+        assertThat(secret.getType()).isEqualTo("kubernetes.io/tls");
+    }
+
+    @Test
+    void should_decode_secret_list() {
+        byte[] listMeta = message().string(2, "1234").string(3, "next").bytes();
+        byte[] list = message().message(1, listMeta).message(2, secret("secret1", "1")).message(2, secret("secret2", "2")).bytes();
+
+        SecretList secrets = ProtobufDecoder.decode(envelope("SecretList", list), SecretList.class);
+
+        assertThat(secrets.getMetadata().getResourceVersion()).isEqualTo("1234");
+        assertThat(secrets.getMetadata().getContinue()).isEqualTo("next");
+        assertThat(secrets.getItems()).extracting(s -> s.getMetadata().getName()).containsExactly("secret1", "secret2");
+    }
+
+    @Test
+    void should_decode_config_map() {
+        byte[] configMap = message()
+            .message(1, objectMeta("configmap1", "1"))
+            .message(2, entry("host", "localhost".getBytes(StandardCharsets.UTF_8)))
+            .message(3, entry("cert", "cert".getBytes(StandardCharsets.UTF_8)))
+            .bytes();
+
+        ConfigMap decoded = ProtobufDecoder.decode(envelope("ConfigMap", configMap), ConfigMap.class);
+
+        assertThat(decoded.getData()).containsEntry("host", "localhost");
+        assertThat(decoded.getBinaryData()).containsEntry("cert", "Y2VydA==");
+    }
+
+    @Test
+    void should_decode_endpoint_slice() {
+        byte[] conditions = message().varint(1, 1).varint(3, 0).bytes();
+        byte[] endpoint = message().string(1, "10.0.0.1").message(2, conditions).string(6, "node1").bytes();
+        byte[] port = message().string(1, "http").string(2, "TCP").varint(3, 8080).bytes();
+        byte[] slice = message().message(1, objectMeta("slice1", "1")).message(2, endpoint).message(3, port).string(4, "IPv4").bytes();
+
+        EndpointSlice decoded = ProtobufDecoder.decode(envelope("EndpointSlice", slice), EndpointSlice.class);
+
+        assertThat(decoded.getAddressType()).isEqualTo("IPv4");
+        assertThat(decoded.getEndpoints().get(0).getAddresses()).containsExactly("10.0.0.1");
+        assertThat(decoded.getEndpoints().get(0).getConditions().getReady()).isTrue();
+        assertThat(decoded.getEndpoints().get(0).getConditions().getTerminating()).isFalse();
+        assertThat(decoded.getPorts().get(0).getPort()).isEqualTo(8080);
+        assertThat(decoded.getPorts().get(0).getName()).isEqualTo("http");
+    }
+
+    @Test
+    void should_decode_watch_event() {
+        byte[] frame = watchEvent("MODIFIED", envelope("Secret", secret("secret1", "43")));
+
+        SecretEvent event = ProtobufDecoder.decodeEvent(frame, SecretEvent.class, Secret.class);
+
+        assertThat(event.getType()).isEqualTo("MODIFIED");
+        assertThat(event.getObject().getMetadata().getResourceVersion()).isEqualTo("43");
+    }
+
+    @Test
+    void should_decode_watch_event_of_endpoint_slice() {
+        byte[] slice = message().message(1, objectMeta("slice1", "7")).string(4, "IPv4").bytes();
+
+        EndpointSliceEvent event = ProtobufDecoder.decodeEvent(
+            watchEvent("ADDED", envelope("EndpointSlice", slice)),
+            EndpointSliceEvent.class,
+            EndpointSlice.class
+        );
+
+        assertThat(event.getObject().getMetadata().getName()).isEqualTo("slice1");
+    }
+
+    @Test
+    void should_raise_error_events() {
+        byte[] status = message().string(2, "Failure").string(3, "too old resource version").string(4, "Expired").varint(6, 410).bytes();
+
+        byte[] frame = watchEvent("ERROR", envelope("Status", status));
+
+        assertThatThrownBy(() -> ProtobufDecoder.decodeEvent(frame, SecretEvent.class, Secret.class))
+            .isInstanceOfSatisfying(WatchEventDecoder.ErrorEventException.class, e -> assertThat(e.code()).isEqualTo(410));
+    }
+
+    @Test
+    void should_skip_unknown_fields() {
+        byte[] secret = message()
+            .message(1, objectMeta("secret1", "1"))
+            .message(17, message().string(1, "kubectl").bytes())
+            .varint(99, 123)
+            .string(3, "Opaque")
+            .bytes();
+
+        assertThat(ProtobufDecoder.decode(envelope("Secret", secret), Secret.class).getType()).isEqualTo("Opaque");
+    }
+
+    @Test
+    void should_reject_truncated_messages() {
+        byte[] secret = envelope("Secret", secret("secret1", "1"));
+        byte[] truncated = Arrays.copyOf(secret, secret.length - 3);
+
+        assertThatThrownBy(() -> ProtobufDecoder.decode(truncated, Secret.class)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void should_tell_supported_types() {
+        assertThat(ProtobufDecoder.supports(Secret.class)).isTrue();
+        assertThat(ProtobufDecoder.supports(SecretList.class)).isTrue();
+        assertThat(ProtobufDecoder.supports(String.class)).isFalse();
+        assertThat(ProtobufDecoder.isProtobuf("application/vnd.kubernetes.protobuf;stream=watch")).isTrue();
+        assertThat(ProtobufDecoder.isProtobuf("application/json")).isFalse();
+    }
+
+    @Test
+    void should_split_length_delimited_frames() {
+        LengthDelimitedFramer framer = new LengthDelimitedFramer();
+        Buffer stream = Buffer.buffer().appendInt(3).appendString("abc").appendInt(2).appendString("de");
+
+        List<Buffer> first = framer.frames(stream.getBuffer(0, 5));
+        List<Buffer> second = framer.frames(stream.getBuffer(5, stream.length()));
+
+        assertThat(first).isEmpty();
+        assertThat(second).extracting(Buffer::toString).containsExactly("abc", "de");
+    }
+
+    private static byte[] secret(String name, String resourceVersion) {
+        return message()
+            .message(1, objectMeta(name, resourceVersion))
+            .message(2, entry("tls.key", "tls.key".getBytes(StandardCharsets.UTF_8)))
+            .string(3, "kubernetes.io/tls")
+            .bytes();
+    }
+
+    private static byte[] objectMeta(String name, String resourceVersion) {
+        return message()
+            .string(1, name)
+            .string(3, "test")
+            .string(5, "uid-" + name)
+            .string(6, resourceVersion)
+            .message(8, message().varint(1, 1672531200L).bytes())
+            .message(11, entry("app", "gateway".getBytes(StandardCharsets.UTF_8)))
+            .bytes();
+    }
+
+    private static byte[] envelope(String kind, byte[] raw) {
+        byte[] typeMeta = message().string(1, "v1").string(2, kind).bytes();
+        byte[] unknown = message().message(1, typeMeta).message(2, raw).string(4, "application/vnd.kubernetes.protobuf").bytes();
+
+        byte[] envelope = new byte[MAGIC.length + unknown.length];
+        System.arraycopy(MAGIC, 0, envelope, 0, MAGIC.length);
+        System.arraycopy(unknown, 0, envelope, MAGIC.length, unknown.length);
+        return envelope;
+    }
+
+    private static byte[] watchEvent(String type, byte[] object) {
+        return message().string(1, type).message(2, message().message(1, object).bytes()).bytes();
+    }
+
+    private static byte[] entry(String key, byte[] value) {
+        return message().string(1, key).message(2, value).bytes();
+    }
+
+    private static Message message() {
+        return new Message();
+    }
+
+    /**
+     * Writes protobuf messages field by field.
+     */
+    private static final class Message {
+
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        private Message varint(int field, long value) {
+            writeVarint((long) field << 3);
+            writeVarint(value);
+            return this;
+        }
+
+        private Message string(int field, String value) {
+            return message(field, value.getBytes(StandardCharsets.UTF_8));
+        }
+
+        private Message message(int field, byte[] value) {
+            writeVarint(((long) field << 3) | 2);
+            writeVarint(value.length);
+            out.writeBytes(value);
+            return this;
+        }
+
+        private byte[] bytes() {
+            return out.toByteArray();
+        }
+
+        private void writeVarint(long value) {
+            while ((value & ~0x7FL) != 0) {
+                out.write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            out.write((int) value);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.kubernetes.client.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.gravitee.kubernetes.client.metrics.KubernetesClientMetrics;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+class ReconnectSchedulerTest {
+
+    private final KubernetesClientMetrics metrics = new KubernetesClientMetrics();
+
+    @Test
+    void should_jitter_up_to_an_exponential_backoff() {
+        ReconnectScheduler scheduler = new ReconnectScheduler(100, 10_000, 0, 0, metrics);
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(scheduler.nextDelay(0, false)).isBetween(0L, 100L);
+            assertThat(scheduler.nextDelay(3, false)).isBetween(0L, 800L);
+        }
+        assertThat(metrics.getReconnects()).isEqualTo(200);
+    }
+
+    @Test
+    void should_cap_the_backoff() {
+        ReconnectScheduler scheduler = new ReconnectScheduler(100, 1_000, 0, 0, metrics);
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(scheduler.nextDelay(40, true)).isBetween(0L, 1_000L);
+        }
+        assertThat(scheduler.isOpen()).isFalse();
+        assertThat(metrics.getFailedReconnects()).isEqualTo(100);
+    }
+
+    @Test
+    void should_hold_reconnections_while_the_circuit_is_open() {
+        ReconnectScheduler scheduler = new ReconnectScheduler(100, 1_000, 3, 60_000, metrics);
+
+        scheduler.nextDelay(0, true);
+        scheduler.nextDelay(0, true);
+        assertThat(scheduler.isOpen()).isFalse();
+
+        assertThat(scheduler.nextDelay(0, true)).isGreaterThan(59_000L);
+        assertThat(scheduler.isOpen()).isTrue();
+        assertThat(metrics.isCircuitOpen()).isTrue();
+        assertThat(metrics.getCircuitOpenings()).isEqualTo(1);
+        // Closes do not count as failures but still wait for the circuit.
+        assertThat(scheduler.nextDelay(0, false)).isGreaterThan(59_000L);
+        assertThat(metrics.getCurrentBackoff()).isGreaterThan(59_000L);
+    }
+
+    @Test
+    void should_close_the_circuit_once_connected() {
+        ReconnectScheduler scheduler = new ReconnectScheduler(100, 1_000, 1, 60_000, metrics);
+        scheduler.nextDelay(0, true);
+
+        scheduler.connected();
+
+        assertThat(scheduler.isOpen()).isFalse();
+        assertThat(metrics.isCircuitOpen()).isFalse();
+        assertThat(metrics.getCurrentBackoff()).isZero();
+        assertThat(scheduler.nextDelay(0, false)).isBetween(0L, 100L);
+    }
+}
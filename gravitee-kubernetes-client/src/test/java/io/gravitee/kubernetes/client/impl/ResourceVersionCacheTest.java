@@ -0,0 +1,79 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.kubernetes.client.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.gravitee.kubernetes.client.model.v1.ObjectMeta;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+class ResourceVersionCacheTest {
+
+    @Test
+    void should_emit_only_newer_resource_versions() {
+        ResourceVersionCache cache = new ResourceVersionCache();
+
+        assertThat(cache.update("ADDED", metadata("secret1", "10"))).isTrue();
+        assertThat(cache.update("MODIFIED", metadata("secret1", "10"))).isFalse();
+        assertThat(cache.update("MODIFIED", metadata("secret1", "9"))).isFalse();
+        assertThat(cache.update("MODIFIED", metadata("secret1", "11"))).isTrue();
+        assertThat(cache.update("ADDED", metadata("secret2", "5"))).isTrue();
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    @Test
+    void should_drop_deleted_resources() {
+        ResourceVersionCache cache = new ResourceVersionCache();
+        cache.update("ADDED", metadata("secret1", "10"));
+
+        assertThat(cache.update("DELETED", metadata("secret1", "12"))).isTrue();
+        assertThat(cache.size()).isZero();
+        assertThat(cache.update("ADDED", metadata("secret1", "13"))).isTrue();
+    }
+
+    @Test
+    void should_evict_least_recently_updated_resources() {
+        ResourceVersionCache cache = new ResourceVersionCache(2);
+        cache.update("ADDED", metadata("secret1", "1"));
+        cache.update("ADDED", metadata("secret2", "2"));
+        cache.update("MODIFIED", metadata("secret1", "3"));
+        cache.update("ADDED", metadata("secret3", "4"));
+
+        assertThat(cache.size()).isEqualTo(2);
+        // secret2 was evicted, its replayed event goes through again.
+        assertThat(cache.update("ADDED", metadata("secret2", "2"))).isTrue();
+    }
+
+    @Test
+    void should_let_unparsable_resource_versions_through() {
+        ResourceVersionCache cache = new ResourceVersionCache();
+
+        assertThat(cache.update("ADDED", metadata("secret1", null))).isTrue();
+        assertThat(cache.update("ADDED", metadata("secret1", null))).isTrue();
+        assertThat(cache.size()).isZero();
+    }
+
+    private static ObjectMeta metadata(String name, String resourceVersion) {
+        ObjectMeta metadata = new ObjectMeta();
+        metadata.setNamespace("test");
+        metadata.setName(name);
+        metadata.setResourceVersion(resourceVersion);
+        return metadata;
+    }
+}
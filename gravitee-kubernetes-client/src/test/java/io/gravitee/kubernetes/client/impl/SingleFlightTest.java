@@ -0,0 +1,134 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.kubernetes.client.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.reactivex.rxjava3.core.Maybe;
+import io.reactivex.rxjava3.observers.TestObserver;
+import io.reactivex.rxjava3.subjects.MaybeSubject;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+class SingleFlightTest {
+
+    private final AtomicInteger requests = new AtomicInteger();
+
+    @Test
+    void should_share_a_request_in_flight() {
+        SingleFlight singleFlight = new SingleFlight(0);
+        MaybeSubject<String> response = MaybeSubject.create();
+
+        TestObserver<String> first = singleFlight.execute("/secrets/s1", () -> request(response)).test();
+        TestObserver<String> second = singleFlight.execute("/secrets/s1", () -> request(response)).test();
+        assertThat(singleFlight.inFlight()).isEqualTo(1);
+
+        response.onSuccess("s1");
+
+        first.assertValue("s1");
+        second.assertValue("s1");
+        assertThat(requests).hasValue(1);
+        assertThat(singleFlight.inFlight()).isZero();
+    }
+
+    @Test
+    void should_not_share_requests_of_different_keys() {
+        SingleFlight singleFlight = new SingleFlight(0);
+
+        singleFlight.execute("/secrets/s1", () -> request(Maybe.just("s1"))).test().assertValue("s1");
+        singleFlight.execute("/secrets/s2", () -> request(Maybe.just("s2"))).test().assertValue("s2");
+
+        assertThat(requests).hasValue(2);
+    }
+
+    @Test
+    void should_send_a_new_request_once_completed() {
+        SingleFlight singleFlight = new SingleFlight(0);
+
+        singleFlight.execute("/secrets/s1", () -> request(Maybe.just("s1"))).test().assertValue("s1");
+        singleFlight.execute("/secrets/s1", () -> request(Maybe.just("s1-updated"))).test().assertValue("s1-updated");
+
+        assertThat(requests).hasValue(2);
+    }
+
+    @Test
+    void should_share_errors_in_flight_only() {
+        SingleFlight singleFlight = new SingleFlight(60_000);
+        MaybeSubject<String> response = MaybeSubject.create();
+
+        TestObserver<String> first = singleFlight.execute("/secrets/s1", () -> request(response)).test();
+        TestObserver<String> second = singleFlight.execute("/secrets/s1", () -> request(response)).test();
+        response.onError(new IllegalStateException("boom"));
+
+        first.assertError(IllegalStateException.class);
+        second.assertError(IllegalStateException.class);
+        singleFlight.execute("/secrets/s1", () -> request(Maybe.just("s1"))).test().assertValue("s1");
+        assertThat(requests).hasValue(2);
+    }
+
+    @Test
+    void should_memoize_results_for_the_ttl() {
+        SingleFlight singleFlight = new SingleFlight(60_000);
+
+        singleFlight.execute("/secrets/s1", () -> request(Maybe.just("s1"))).test().assertValue("s1");
+        singleFlight.execute("/secrets/s1", () -> request(Maybe.just("s1-updated"))).test().assertValue("s1");
+
+        assertThat(requests).hasValue(1);
+    }
+
+    @Test
+    void should_not_memoize_results_when_asked_not_to() {
+        SingleFlight singleFlight = new SingleFlight(60_000);
+
+        singleFlight.execute("/secrets", () -> request(Maybe.just("list")), false).test().assertValue("list");
+        singleFlight.execute("/secrets", () -> request(Maybe.just("relist")), false).test().assertValue("relist");
+
+        assertThat(requests).hasValue(2);
+        assertThat(singleFlight.memoized()).isZero();
+    }
+
+    @Test
+    void should_not_memoize_missing_resources() {
+        SingleFlight singleFlight = new SingleFlight(60_000);
+
+        singleFlight.execute("/secrets/s1", () -> request(Maybe.<String>empty())).test().assertNoValues().assertComplete();
+        singleFlight.execute("/secrets/s1", () -> request(Maybe.just("s1"))).test().assertValue("s1");
+
+        assertThat(requests).hasValue(2);
+    }
+
+    @Test
+    void should_bound_memoized_results() {
+        SingleFlight singleFlight = new SingleFlight(60_000, 2);
+
+        singleFlight.execute("/secrets/s1", () -> request(Maybe.just("s1"))).test().assertValue("s1");
+        singleFlight.execute("/secrets/s2", () -> request(Maybe.just("s2"))).test().assertValue("s2");
+        singleFlight.execute("/secrets/s3", () -> request(Maybe.just("s3"))).test().assertValue("s3");
+        assertThat(singleFlight.memoized()).isEqualTo(2);
+
+        // The least recently used result has been evicted.
+        singleFlight.execute("/secrets/s1", () -> request(Maybe.just("s1-updated"))).test().assertValue("s1-updated");
+        assertThat(requests).hasValue(4);
+    }
+
+    private <T> Maybe<T> request(Maybe<T> response) {
+        requests.incrementAndGet();
+        return response;
+    }
+}
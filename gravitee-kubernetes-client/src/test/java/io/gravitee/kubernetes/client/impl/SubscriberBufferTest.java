@@ -0,0 +1,172 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.kubernetes.client.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.gravitee.kubernetes.client.api.OverflowPolicy;
+import io.gravitee.kubernetes.client.metrics.KubernetesClientMetrics;
+import io.gravitee.kubernetes.client.model.v1.ObjectMeta;
+import io.gravitee.kubernetes.client.model.v1.Secret;
+import io.gravitee.kubernetes.client.model.v1.SecretEvent;
+import io.reactivex.rxjava3.exceptions.MissingBackpressureException;
+import io.reactivex.rxjava3.schedulers.TestScheduler;
+import io.reactivex.rxjava3.subscribers.TestSubscriber;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+class SubscriberBufferTest {
+
+    private final KubernetesClientMetrics metrics = new KubernetesClientMetrics();
+
+    @Test
+    void should_buffer_until_requested() {
+        SubscriberBuffer<SecretEvent> buffer = new SubscriberBuffer<>(0, OverflowPolicy.DROP_OLDEST, metrics);
+        TestSubscriber<SecretEvent> subscriber = buffer.flowable().test(0);
+
+        for (int i = 0; i < 100; i++) {
+            buffer.offer(event("ADDED", "secret" + i, "1"));
+        }
+        assertThat(metrics.getBufferDepth()).isEqualTo(100);
+
+        subscriber.request(60);
+        subscriber.assertValueCount(60);
+        assertThat(metrics.getBufferDepth()).isEqualTo(40);
+
+        subscriber.request(Long.MAX_VALUE);
+        subscriber.assertValueCount(100).assertNotComplete();
+        assertThat(metrics.getBufferDepth()).isZero();
+    }
+
+    @Test
+    void should_drop_oldest_events_once_full() {
+        SubscriberBuffer<SecretEvent> buffer = new SubscriberBuffer<>(2, OverflowPolicy.DROP_OLDEST, metrics);
+        TestSubscriber<SecretEvent> subscriber = buffer.flowable().test(0);
+
+        buffer.offer(event("ADDED", "secret1", "1"));
+        buffer.offer(event("ADDED", "secret2", "2"));
+        buffer.offer(event("ADDED", "secret3", "3"));
+        subscriber.request(Long.MAX_VALUE);
+
+        subscriber.assertValueCount(2);
+        subscriber.assertValueAt(0, e -> e.getObject().getMetadata().getName().equals("secret2"));
+        subscriber.assertValueAt(1, e -> e.getObject().getMetadata().getName().equals("secret3"));
+        assertThat(metrics.getDropped()).isEqualTo(1);
+        assertThat(metrics.getBufferDepth()).isZero();
+    }
+
+    @Test
+    void should_not_conflate_events_below_capacity() {
+        SubscriberBuffer<SecretEvent> buffer = new SubscriberBuffer<>(10, OverflowPolicy.CONFLATE_BY_KEY, metrics);
+        TestSubscriber<SecretEvent> subscriber = buffer.flowable().test(0);
+
+        buffer.offer(event("ADDED", "secret1", "1"));
+        buffer.offer(event("MODIFIED", "secret1", "2"));
+        buffer.offer(event("DELETED", "secret1", "3"));
+        subscriber.request(Long.MAX_VALUE);
+
+        subscriber.assertValueCount(3);
+        assertThat(metrics.getConflated()).isZero();
+        assertThat(metrics.getBufferDepth()).isZero();
+    }
+
+    @Test
+    void should_conflate_events_of_the_same_resource_once_full() {
+        SubscriberBuffer<SecretEvent> buffer = new SubscriberBuffer<>(2, OverflowPolicy.CONFLATE_BY_KEY, metrics);
+        TestSubscriber<SecretEvent> subscriber = buffer.flowable().test(0);
+
+        buffer.offer(event("ADDED", "secret1", "1"));
+        buffer.offer(event("ADDED", "secret2", "2"));
+        buffer.offer(event("MODIFIED", "secret1", "3"));
+        buffer.offer(event("DELETED", "secret2", "4"));
+        buffer.offer(event("ADDED", "secret3", "5"));
+        subscriber.request(Long.MAX_VALUE);
+
+        subscriber.assertValueCount(2);
+        subscriber.assertValueAt(0, e -> e.getType().equals("ADDED") && e.getObject().getMetadata().getResourceVersion().equals("3"));
+        subscriber.assertValueAt(1, e -> e.getType().equals("ADDED") && e.getObject().getMetadata().getResourceVersion().equals("5"));
+        assertThat(metrics.getConflated()).isEqualTo(2);
+        assertThat(metrics.getDropped()).isZero();
+        assertThat(metrics.getBufferDepth()).isZero();
+    }
+
+    @Test
+    void should_fail_the_subscriber_once_full() {
+        SubscriberBuffer<SecretEvent> buffer = new SubscriberBuffer<>(2, OverflowPolicy.ERROR, metrics);
+        TestSubscriber<SecretEvent> subscriber = buffer.flowable().test(0);
+
+        buffer.offer(event("ADDED", "secret1", "1"));
+        buffer.offer(event("ADDED", "secret2", "2"));
+        buffer.offer(event("ADDED", "secret3", "3"));
+
+        subscriber.assertNoValues().assertError(MissingBackpressureException.class);
+        assertThat(metrics.getOverflows()).isEqualTo(1);
+        assertThat(metrics.getBufferDepth()).isZero();
+    }
+
+    @Test
+    void should_complete_once_drained() {
+        SubscriberBuffer<SecretEvent> buffer = new SubscriberBuffer<>(0, OverflowPolicy.DROP_OLDEST, metrics);
+        TestSubscriber<SecretEvent> subscriber = buffer.flowable().test(0);
+
+        buffer.offer(event("ADDED", "secret1", "1"));
+        buffer.onComplete();
+        subscriber.assertNotComplete();
+
+        subscriber.request(1);
+        subscriber.assertValueCount(1).assertComplete();
+    }
+
+    @Test
+    void should_emit_the_latest_state_at_the_end_of_the_window() {
+        TestScheduler scheduler = new TestScheduler();
+        SubscriberBuffer<SecretEvent> buffer = new SubscriberBuffer<>(0, OverflowPolicy.DROP_OLDEST, 100, scheduler, metrics);
+        TestSubscriber<SecretEvent> subscriber = buffer.flowable().test();
+
+        buffer.offer(event("MODIFIED", "slice1", "1"));
+        buffer.offer(event("MODIFIED", "slice2", "2"));
+        scheduler.advanceTimeBy(50, TimeUnit.MILLISECONDS);
+        buffer.offer(event("MODIFIED", "slice1", "3"));
+        buffer.offer(event("MODIFIED", "slice1", "4"));
+        subscriber.assertNoValues();
+
+        scheduler.advanceTimeBy(50, TimeUnit.MILLISECONDS);
+        subscriber.assertValueCount(2);
+        subscriber.assertValueAt(0, e -> e.getObject().getMetadata().getResourceVersion().equals("2"));
+        subscriber.assertValueAt(1, e -> e.getObject().getMetadata().getResourceVersion().equals("4"));
+        assertThat(metrics.getConflated()).isEqualTo(2);
+
+        // A new burst opens a new window.
+        buffer.offer(event("MODIFIED", "slice2", "5"));
+        subscriber.assertValueCount(2);
+        scheduler.advanceTimeBy(100, TimeUnit.MILLISECONDS);
+        subscriber.assertValueCount(3);
+        assertThat(metrics.getBufferDepth()).isZero();
+    }
+
+    private static SecretEvent event(String type, String name, String resourceVersion) {
+        ObjectMeta metadata = new ObjectMeta();
+        metadata.setNamespace("test");
+        metadata.setName(name);
+        metadata.setResourceVersion(resourceVersion);
+        Secret secret = new Secret();
+        secret.setMetadata(metadata);
+        return Events.newEvent(SecretEvent.class, type, secret);
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.kubernetes.client.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.gravitee.kubernetes.client.api.Type;
+import io.gravitee.kubernetes.client.model.v1.EndpointSlice;
+import io.gravitee.kubernetes.client.model.v1.Event;
+import io.gravitee.kubernetes.client.model.v1.Secret;
+import io.gravitee.kubernetes.client.model.v1.SecretEvent;
+import io.vertx.core.buffer.Buffer;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+class WatchEventDecoderTest {
+
+    private static final String SECRET =
+        "{\"kind\":\"Secret\",\"apiVersion\":\"v1\",\"metadata\":{\"name\":\"secret1\",\"namespace\":\"test\",\"resourceVersion\":\"42\"," +
+        "\"labels\":{\"app\":\"gateway\"},\"managedFields\":[{\"manager\":\"kubectl\"}]}," +
+        "\"data\":{\"tls.crt\":\"Y2VydA==\"},\"type\":\"Opaque\"}";
+
+    @Test
+    void should_decode_event_with_type_first() {
+        WatchEventDecoder<Event<Secret>> decoder = WatchEventDecoder.of(Type.SECRETS);
+
+        Event<Secret> event = decoder.decode(Buffer.buffer("{\"type\":\"MODIFIED\",\"object\":" + SECRET + "}"));
+
+        assertThat(event).isInstanceOf(SecretEvent.class);
+        assertThat(event.getType()).isEqualTo("MODIFIED");
+        assertThat(event.getObject().getMetadata().getName()).isEqualTo("secret1");
+        assertThat(event.getObject().getMetadata().getResourceVersion()).isEqualTo("42");
+        assertThat(event.getObject().getMetadata().getLabels()).containsEntry("app", "gateway");
+        assertThat(event.getObject().getData()).containsEntry("tls.crt", "Y2VydA==");
+    }
+
+    @Test
+    void should_decode_event_with_object_first() {
+        WatchEventDecoder<Event<Secret>> decoder = WatchEventDecoder.of(Type.SECRETS);
+
+        Event<Secret> event = decoder.decode(Buffer.buffer("{\"object\":" + SECRET + ",\"type\":\"DELETED\"}"));
+
+        assertThat(event.getType()).isEqualTo("DELETED");
+        assertThat(event.getObject().getMetadata().getName()).isEqualTo("secret1");
+    }
+
+    @Test
+    void should_decode_endpoint_slice_event() {
+        WatchEventDecoder<Event<EndpointSlice>> decoder = WatchEventDecoder.of(Type.ENDPOINTSLICES);
+
+        Event<EndpointSlice> event = decoder.decode(
+            Buffer.buffer(
+                "{\"type\":\"ADDED\",\"object\":{\"kind\":\"EndpointSlice\",\"addressType\":\"IPv4\",\"metadata\":{\"name\":\"svc-abc\"," +
+                "\"namespace\":\"test\",\"resourceVersion\":\"7\"},\"endpoints\":[{\"addresses\":[\"10.0.0.1\"]}]," +
+                "\"ports\":[{\"name\":\"http\",\"port\":8080,\"protocol\":\"TCP\"}]}}"
+            )
+        );
+
+        assertThat(event.getType()).isEqualTo("ADDED");
+        assertThat(event.getObject().metaData().getName()).isEqualTo("svc-abc");
+        assertThat(event.getObject().getEndpoints()).hasSize(1);
+        assertThat(event.getObject().getPorts()).hasSize(1);
+    }
+
+    @Test
+    void should_raise_error_event() {
+        WatchEventDecoder<Event<Secret>> decoder = WatchEventDecoder.of(Type.SECRETS);
+        Buffer frame = Buffer.buffer(
+            "{\"type\":\"ERROR\",\"object\":{\"kind\":\"Status\",\"apiVersion\":\"v1\",\"metadata\":{},\"status\":\"Failure\"," +
+            "\"message\":\"too old resource version: 1 (42)\",\"reason\":\"Expired\",\"code\":410}}"
+        );
+
+        assertThatThrownBy(() -> decoder.decode(frame))
+            .isInstanceOf(WatchEventDecoder.ErrorEventException.class)
+            .satisfies(e -> assertThat(((WatchEventDecoder.ErrorEventException) e).code()).isEqualTo(410));
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.kubernetes.client.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.function.Predicate;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+class WildcardMatcherTest {
+
+    private final WildcardMatcher wildcardMatcher = new WildcardMatcher();
+
+    @Test
+    void should_match_prefix() {
+        Predicate<String> matcher = wildcardMatcher.compile("secret1*");
+
+        assertThat(matcher.test("secret1")).isTrue();
+        assertThat(matcher.test("secret12")).isTrue();
+        assertThat(matcher.test("secret2")).isFalse();
+    }
+
+    @Test
+    void should_match_suffix() {
+        Predicate<String> matcher = wildcardMatcher.compile("*-tls");
+
+        assertThat(matcher.test("gateway-tls")).isTrue();
+        assertThat(matcher.test("gateway-config")).isFalse();
+    }
+
+    @Test
+    void should_match_infix() {
+        Predicate<String> matcher = wildcardMatcher.compile("apim-*-tls");
+
+        assertThat(matcher.test("apim-gateway-tls")).isTrue();
+        assertThat(matcher.test("apim-tls")).isFalse();
+        assertThat(matcher.test("tls-apim-")).isFalse();
+    }
+
+    @Test
+    void should_match_several_wildcards() {
+        Predicate<String> matcher = wildcardMatcher.compile("apim-*-gateway-*.tls");
+
+        assertThat(matcher.test("apim-prod-gateway-1.tls")).isTrue();
+        assertThat(matcher.test("apim-prod-gateway-1-tls")).isFalse();
+    }
+
+    @Test
+    void should_reuse_compiled_matcher() {
+        assertThat(wildcardMatcher.compile("secret*")).isSameAs(wildcardMatcher.compile("secret*"));
+    }
+
+    @Test
+    void should_bound_cached_matchers() {
+        WildcardMatcher bounded = new WildcardMatcher(2);
+        Predicate<String> first = bounded.compile("a*");
+        bounded.compile("b*");
+        bounded.compile("c*");
+
+        assertThat(bounded.cachedPatterns()).isEqualTo(2);
+        assertThat(bounded.compile("a*")).isNotSameAs(first);
+    }
+}
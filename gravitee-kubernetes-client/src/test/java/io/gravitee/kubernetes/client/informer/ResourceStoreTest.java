@@ -0,0 +1,102 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.kubernetes.client.informer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.gravitee.kubernetes.client.api.LabelSelector;
+import io.gravitee.kubernetes.client.model.v1.ObjectMeta;
+import io.gravitee.kubernetes.client.model.v1.Secret;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+class ResourceStoreTest {
+
+    private final ResourceStore<Secret> store = new ResourceStore<>();
+
+    @Test
+    void should_get_item_by_namespace_and_name() {
+        store.put(secret("ns1", "secret1", Map.of()));
+        store.put(secret("ns2", "secret1", Map.of()));
+
+        assertThat(store.get("ns1", "secret1").getMetadata().getNamespace()).isEqualTo("ns1");
+        assertThat(store.get("ns2", "secret1").getMetadata().getNamespace()).isEqualTo("ns2");
+        assertThat(store.get("ns3", "secret1")).isNull();
+    }
+
+    @Test
+    void should_list_items_by_namespace() {
+        store.put(secret("ns1", "secret1", Map.of()));
+        store.put(secret("ns1", "secret2", Map.of()));
+        store.put(secret("ns2", "secret3", Map.of()));
+
+        assertThat(store.list("ns1")).hasSize(2);
+        assertThat(store.list(null)).hasSize(3);
+    }
+
+    @Test
+    void should_list_items_by_label() {
+        store.put(secret("ns1", "secret1", Map.of("app", "gateway", "tier", "front")));
+        store.put(secret("ns1", "secret2", Map.of("app", "gateway")));
+        store.put(secret("ns1", "secret3", Map.of("app", "portal")));
+
+        assertThat(store.list("ns1", List.of(LabelSelector.equals("app", "gateway")))).hasSize(2);
+        assertThat(store.list("ns1", List.of(LabelSelector.equals("app", "gateway"), LabelSelector.equals("tier", "front"))))
+            .extracting(s -> s.getMetadata().getName())
+            .containsExactly("secret1");
+        assertThat(store.list("ns1", List.of(LabelSelector.notEquals("app", "gateway"))))
+            .extracting(s -> s.getMetadata().getName())
+            .containsExactly("secret3");
+    }
+
+    @Test
+    void should_reindex_labels_on_update_and_remove() {
+        store.put(secret("ns1", "secret1", Map.of("app", "gateway")));
+        store.put(secret("ns1", "secret1", Map.of("app", "portal")));
+
+        assertThat(store.list("ns1", List.of(LabelSelector.equals("app", "gateway")))).isEmpty();
+        assertThat(store.list("ns1", List.of(LabelSelector.equals("app", "portal")))).hasSize(1);
+
+        store.remove(secret("ns1", "secret1", Map.of()));
+
+        assertThat(store.size()).isZero();
+        assertThat(store.list("ns1", List.of(LabelSelector.equals("app", "portal")))).isEmpty();
+    }
+
+    @Test
+    void should_replace_content() {
+        store.put(secret("ns1", "secret1", Map.of()));
+        store.replace(List.of(secret("ns1", "secret2", Map.of())));
+
+        assertThat(store.get("ns1", "secret1")).isNull();
+        assertThat(store.get("ns1", "secret2")).isNotNull();
+    }
+
+    private static Secret secret(String namespace, String name, Map<String, String> labels) {
+        ObjectMeta metadata = new ObjectMeta();
+        metadata.setNamespace(namespace);
+        metadata.setName(name);
+        metadata.setLabels(labels);
+
+        Secret secret = new Secret();
+        secret.setMetadata(metadata);
+        return secret;
+    }
+}
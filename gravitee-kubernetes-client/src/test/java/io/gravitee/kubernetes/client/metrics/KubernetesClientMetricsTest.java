@@ -0,0 +1,78 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.kubernetes.client.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+class KubernetesClientMetricsTest {
+
+    private final KubernetesClientMetrics metrics = new KubernetesClientMetrics();
+
+    @Test
+    void should_track_queued_and_in_use_requests() {
+        long first = metrics.enqueue();
+        long second = metrics.enqueue();
+        assertThat(metrics.getQueued()).isEqualTo(2);
+
+        metrics.acquired(first);
+        assertThat(metrics.getQueued()).isEqualTo(1);
+        assertThat(metrics.getInUse()).isEqualTo(1);
+
+        metrics.rejected();
+        metrics.released();
+        assertThat(metrics.getQueued()).isZero();
+        assertThat(metrics.getInUse()).isZero();
+        assertThat(metrics.getAcquired()).isEqualTo(1);
+        assertThat(metrics.getRejected()).isEqualTo(1);
+        assertThat(second).isGreaterThanOrEqualTo(first);
+    }
+
+    @Test
+    void should_track_wait_time() {
+        long queuedAt = metrics.enqueue() - TimeUnit.MILLISECONDS.toNanos(20);
+        metrics.acquired(queuedAt);
+
+        assertThat(metrics.getMaxWaitTime(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(20);
+        assertThat(metrics.getAverageWaitTime(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(20);
+    }
+
+    @Test
+    void should_track_compressed_and_uncompressed_responses() {
+        metrics.compressed(100, 1000);
+        metrics.compressed(300, 1000);
+        metrics.uncompressed(50);
+
+        assertThat(metrics.getCompressedResponses()).isEqualTo(2);
+        assertThat(metrics.getCompressedBytes()).isEqualTo(400);
+        assertThat(metrics.getDecompressedBytes()).isEqualTo(2000);
+        assertThat(metrics.getUncompressedResponses()).isEqualTo(1);
+        assertThat(metrics.getUncompressedBytes()).isEqualTo(50);
+        assertThat(metrics.getCompressionRatio()).isEqualTo(0.2);
+    }
+
+    @Test
+    void should_have_no_compression_ratio_without_compressed_responses() {
+        metrics.uncompressed(50);
+
+        assertThat(metrics.getCompressionRatio()).isEqualTo(1);
+    }
+}